@@ -0,0 +1,21 @@
+#!/bin/bash
+
+# Lance les benchmarks JMH et écrit les résultats en JSON
+# Usage : ./run-benchmarks.sh [arguments JMH, ex: JwtServiceBenchmark -f 1]
+
+set -e
+
+BENCH_DIR="$(cd "$(dirname "$0")" && pwd)"
+API_DIR="$(dirname "$BENCH_DIR")"
+RESULTS="$BENCH_DIR/target/jmh-results.json"
+
+echo "📦 Installation de kanban-api dans le dépôt Maven local..."
+(cd "$API_DIR" && ./mvnw -B -q install -DskipTests)
+
+echo "🔨 Construction des benchmarks..."
+(cd "$API_DIR" && ./mvnw -B -q -f benchmarks/pom.xml package)
+
+echo "⏱️  Exécution des benchmarks..."
+java -jar "$BENCH_DIR/target/benchmarks.jar" -rf json -rff "$RESULTS" "$@"
+
+echo "✅ Résultats : $RESULTS"
@@ -0,0 +1,90 @@
+package com.arthur.kanban_api.benchmarks;
+
+import com.arthur.kanban_api.controller.CardController;
+import com.arthur.kanban_api.dto.CardResponse;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping entité → DTO de CardController.toResponse (méthode privée appelée par MethodHandle),
+ * sur une carte dont la liste et le propriétaire sont chargés
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardMappingBenchmark {
+
+    private static final MethodHandle TO_RESPONSE;
+
+    static {
+        try {
+            TO_RESPONSE = MethodHandles.privateLookupIn(CardController.class, MethodHandles.lookup())
+                    .findVirtual(CardController.class, "toResponse", MethodType.methodType(CardResponse.class, Card.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private CardController controller;
+    private Card card;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // toResponse n'utilise aucun service
+        controller = new CardController(null, null, null, null);
+
+        User owner = new User();
+        setField(owner, "id", 42L);
+        setField(owner, "createdAt", LocalDateTime.now());
+        owner.setEmail("bench@example.com");
+
+        KanbanList list = new KanbanList();
+        setField(list, "id", 17L);
+        list.setTitle("En cours");
+        list.setOwner(owner);
+
+        card = new Card();
+        setField(card, "id", 1234L);
+        setField(card, "createdAt", Instant.now());
+        setField(card, "updatedAt", Instant.now());
+        setField(card, "version", 3L);
+        card.setTitle("Préparer la démo du sprint");
+        card.setDescription("Slides, démo du tableau, questions");
+        card.setPosition(3072);
+        card.setList(list);
+        card.setOwner(owner);
+    }
+
+    @Benchmark
+    public CardResponse toResponse() throws Throwable {
+        return (CardResponse) TO_RESPONSE.invokeExact(controller, card);
+    }
+
+    private static void setField(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,72 @@
+package com.arthur.kanban_api.benchmarks;
+
+import com.arthur.kanban_api.security.AuthenticatedUser;
+import com.arthur.kanban_api.security.JwtService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * generateToken (signature HMAC d'un jeton d'accès), et extractSubject avant/après : parser reconstruit
+ * à chaque appel (baseline), parser partagé sans cache (verifiedCacheSize=0) et avec cache des jetons vérifiés
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    static final String SECRET = "benchmark-secret-with-at-least-32-bytes!!";
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtService jwtService;
+    private SecretKey signingKey;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 604_800_000L, verifiedCacheSize);
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        user = new AuthenticatedUser(1L, "bench@example.com", null, "ROLE_USER", 0);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractSubject() {
+        return jwtService.extractSubject(token);
+    }
+
+    @Benchmark
+    public String baselineRebuildParser() {
+        // Comportement d'origine de JwtService.getClaim : un parser construit à chaque appel
+        return Jwts.parser()
+                .verifyWith(signingKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+}
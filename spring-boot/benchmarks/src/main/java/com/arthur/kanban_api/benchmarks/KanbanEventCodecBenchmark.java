@@ -0,0 +1,94 @@
+package com.arthur.kanban_api.benchmarks;
+
+import com.arthur.kanban_api.event.CborKanbanEventCodec;
+import com.arthur.kanban_api.event.JsonKanbanEventCodec;
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.event.KanbanEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodage/décodage des événements Kanban : JSON (1.0) contre CBOR compact (2.0),
+ * pour chacun des types d'événements publiés. La taille encodée est affichée au démarrage de chaque essai.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KanbanEventCodecBenchmark {
+
+    @Param({"json", "cbor"})
+    public String encoding;
+
+    @Param({"CardCreated", "CardUpdated", "CardMoved", "CardDeleted", "ListCreated", "ListDeleted", "TestEvent"})
+    public String eventType;
+
+    private KanbanEventCodec codec;
+    private KanbanEvent event;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = "cbor".equals(encoding) ? new CborKanbanEventCodec() : new JsonKanbanEventCodec();
+        event = sampleEvent(eventType);
+        encoded = codec.encode(event);
+        System.out.printf("%n[%s/%s] %d bytes/event%n", encoding, eventType, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(event);
+    }
+
+    @Benchmark
+    public KanbanEvent decode() {
+        return codec.decode(encoded);
+    }
+
+    static KanbanEvent sampleEvent(String eventType) {
+        Map<String, Object> data = new HashMap<>();
+        Map<String, Object> metadata = Map.of("userId", 42L, "correlationId", "card-1234");
+        switch (eventType) {
+            case "TestEvent" -> {
+                data.put("message", "Hello from Spring Boot!");
+                data.put("timestamp", System.currentTimeMillis());
+                data.put("test", true);
+            }
+            case "ListCreated", "ListDeleted" -> {
+                data.put("listId", 17L);
+                data.put("title", "En cours");
+                data.put("position", 2);
+                data.put("userId", 42L);
+                data.put("action", eventType.endsWith("Created") ? "created" : "deleted");
+            }
+            default -> {
+                data.put("cardId", 1234L);
+                data.put("title", "Préparer la démo du sprint");
+                data.put("listId", 17L);
+                data.put("position", 3072);
+                data.put("userId", 42L);
+                data.put("action", eventType.substring(4).toLowerCase());
+                if (eventType.equals("CardMoved")) {
+                    data.put("previousListId", 16L);
+                }
+            }
+        }
+        return new KanbanEvent(eventType, data, metadata);
+    }
+}
@@ -0,0 +1,71 @@
+package com.arthur.kanban_api.benchmarks;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction d'un KanbanEvent (UUID + horodatage) et aller-retour par le GenericJackson2JsonRedisSerializer
+ * du RedisTemplate (JSON typé avec @class), référence pour KanbanEventCodecBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisEventSerializerBenchmark {
+
+    @Param({"CardCreated", "CardMoved", "ListDeleted"})
+    public String eventType;
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private KanbanEvent event;
+    private Map<String, Object> data;
+    private Map<String, Object> metadata;
+    private byte[] serialized;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        serializer = new GenericJackson2JsonRedisSerializer();
+        event = KanbanEventCodecBenchmark.sampleEvent(eventType);
+        data = event.getData();
+        metadata = event.getMetadata();
+        serialized = serializer.serialize(event);
+        System.out.printf("%n[%s] %d bytes/event%n", eventType, serialized.length);
+    }
+
+    @Benchmark
+    public KanbanEvent construct() {
+        return new KanbanEvent(eventType, data, metadata);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(event);
+    }
+
+    @Benchmark
+    public KanbanEvent deserialize() {
+        return serializer.deserialize(serialized, KanbanEvent.class);
+    }
+
+    @Benchmark
+    public KanbanEvent roundTrip() {
+        return serializer.deserialize(serializer.serialize(new KanbanEvent(eventType, data, metadata)), KanbanEvent.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.arthur.kanban_api.benchmarks;
+
+import com.arthur.kanban_api.KanbanApiApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomUserDetailsService.loadUserByUsername dans le contexte Spring complet, sur H2 en mémoire
+ * (les 10 utilisateurs de DataInitializer) : cache des principaux (userCacheSize=0 pour le désactiver)
+ * et cache de second niveau Hibernate (recherche par email) activés ou non
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserDetailsServiceBenchmark {
+
+    @Param({"0", "10000"})
+    public long userCacheSize;
+
+    @Param({"true", "false"})
+    public boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private UserDetailsService userDetailsService;
+    private String[] emails;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Arguments de ligne de commande : prioritaires sur l'application.properties embarqué (PostgreSQL).
+        // Contexte web (port libre) : la configuration de sécurité requiert HttpSecurity
+        context = new SpringApplicationBuilder(KanbanApiApplication.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--app.security.user-cache.max-size=" + userCacheSize,
+                "--app.security.bcrypt.strength=4",
+                "--app.security.denylist.refresh-interval-ms=3600000",
+                "--app.events.outbox.relay.enabled=false",
+                "--app.board-cache.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.com.arthur.kanban_api.security=WARN");
+        userDetailsService = context.getBean(UserDetailsService.class);
+        emails = new String[10];
+        for (int i = 0; i < emails.length; i++) {
+            emails[i] = String.format("user%02d@example.com", i + 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        next = (next + 1) % emails.length;
+        return userDetailsService.loadUserByUsername(emails[next]);
+    }
+}
@@ -0,0 +1,64 @@
+#!/bin/bash
+
+# Test de charge : débit et p99 de GET /api/boards/me à forte concurrence
+# Usage : ./load-test.sh <libellé> (ex: platform puis virtual)
+#
+# Comparaison threads plateforme / threads virtuels :
+#   VIRTUAL_THREADS=false docker-compose up -d --build spring-boot-api && ./load-test.sh platform
+#   VIRTUAL_THREADS=true  docker-compose up -d spring-boot-api          && ./load-test.sh virtual
+# Nécessite hey (https://github.com/rakyll/hey) et jq.
+
+set -e
+
+LABEL="${1:-run}"
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+CONCURRENCY="${CONCURRENCY:-1000}"
+DURATION="${DURATION:-30s}"
+RESULTS_DIR="$(cd "$(dirname "$0")" && pwd)/load-test-results"
+EMAIL="loadtest@example.com"
+PASSWORD="loadtest-password"
+
+mkdir -p "$RESULTS_DIR"
+
+echo "🔐 Préparation de l'utilisateur de test..."
+curl -s -o /dev/null -X POST "$BASE_URL/api/auth/register" \
+    -H "Content-Type: application/json" \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" || true
+TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" \
+    -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | jq -r '.token')
+if [ -z "$TOKEN" ] || [ "$TOKEN" = "null" ]; then
+    echo "❌ Connexion impossible sur $BASE_URL"
+    exit 1
+fi
+
+# Un tableau réaliste : 5 listes de 20 cartes (créé une seule fois)
+if [ "$(curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/boards/me" | jq 'length')" = "0" ]; then
+    echo "🗂️  Création du tableau de test..."
+    for l in 1 2 3 4 5; do
+        LIST_ID=$(curl -s -X POST "$BASE_URL/api/lists" \
+            -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" \
+            -d "{\"title\":\"Liste $l\",\"position\":$l}" | jq -r '.id')
+        for c in $(seq 1 20); do
+            curl -s -o /dev/null -X POST "$BASE_URL/api/lists/$LIST_ID/cards" \
+                -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" \
+                -d "{\"title\":\"Carte $c\",\"position\":$c,\"listId\":$LIST_ID}"
+        done
+    done
+fi
+
+echo "🔥 Préchauffage..."
+hey -z 10s -c 50 -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/boards/me" > /dev/null
+
+echo "⏱️  $CONCURRENCY clients pendant $DURATION ($LABEL)..."
+hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/boards/me" \
+    | tee "$RESULTS_DIR/$LABEL.txt"
+
+# Tableau comparatif de tous les runs enregistrés
+echo ""
+printf "%-12s %12s %12s\n" "run" "req/s" "p99 (s)"
+for f in "$RESULTS_DIR"/*.txt; do
+    RPS=$(grep "Requests/sec" "$f" | awk '{print $2}')
+    P99=$(grep "99% in" "$f" | awk '{print $3}')
+    printf "%-12s %12s %12s\n" "$(basename "$f" .txt)" "$RPS" "$P99"
+done
@@ -0,0 +1,70 @@
+#!/bin/bash
+
+# Test de charge mixte : p99 de GET /api/cards/{id} seul, puis pendant une rafale de connexions
+# Usage : ./login-storm-test.sh
+#
+# Avec le pool de hachage borné, le p99 des cartes doit rester stable pendant la rafale ;
+# les connexions au-delà de la file reçoivent 503 (voir la distribution des codes).
+# Nécessite hey (https://github.com/rakyll/hey) et jq.
+
+set -e
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+CARD_CONCURRENCY="${CARD_CONCURRENCY:-50}"
+LOGIN_CONCURRENCY="${LOGIN_CONCURRENCY:-200}"
+DURATION="${DURATION:-30s}"
+RESULTS_DIR="$(cd "$(dirname "$0")" && pwd)/load-test-results"
+EMAIL="loadtest@example.com"
+PASSWORD="loadtest-password"
+LOGIN_BODY="{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}"
+
+mkdir -p "$RESULTS_DIR"
+
+echo "🔐 Préparation de l'utilisateur de test..."
+curl -s -o /dev/null -X POST "$BASE_URL/api/auth/register" \
+    -H "Content-Type: application/json" -d "$LOGIN_BODY" || true
+TOKEN=$(curl -s -X POST "$BASE_URL/api/auth/login" \
+    -H "Content-Type: application/json" -d "$LOGIN_BODY" | jq -r '.token')
+if [ -z "$TOKEN" ] || [ "$TOKEN" = "null" ]; then
+    echo "❌ Connexion impossible sur $BASE_URL"
+    exit 1
+fi
+
+CARD_ID=$(curl -s -H "Authorization: Bearer $TOKEN" "$BASE_URL/api/boards/me" | jq -r '[.[].cards[]][0].id // empty')
+if [ -z "$CARD_ID" ]; then
+    echo "🗂️  Création d'une carte de test..."
+    LIST_ID=$(curl -s -X POST "$BASE_URL/api/lists" \
+        -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" \
+        -d '{"title":"Charge","position":0}' | jq -r '.id')
+    CARD_ID=$(curl -s -X POST "$BASE_URL/api/lists/$LIST_ID/cards" \
+        -H "Authorization: Bearer $TOKEN" -H "Content-Type: application/json" \
+        -d "{\"title\":\"Carte\",\"position\":0,\"listId\":$LIST_ID}" | jq -r '.id')
+fi
+CARD_URL="$BASE_URL/api/cards/$CARD_ID"
+
+echo "🔥 Préchauffage..."
+hey -z 10s -c "$CARD_CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$CARD_URL" > /dev/null
+
+echo "⏱️  Cartes seules ($CARD_CONCURRENCY clients, $DURATION)..."
+hey -z "$DURATION" -c "$CARD_CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$CARD_URL" \
+    > "$RESULTS_DIR/cards-baseline.txt"
+
+echo "⏱️  Cartes pendant une rafale de $LOGIN_CONCURRENCY connexions..."
+hey -z "$DURATION" -c "$LOGIN_CONCURRENCY" -m POST -H "Content-Type: application/json" -d "$LOGIN_BODY" \
+    "$BASE_URL/api/auth/login" > "$RESULTS_DIR/login-storm.txt" &
+STORM_PID=$!
+hey -z "$DURATION" -c "$CARD_CONCURRENCY" -H "Authorization: Bearer $TOKEN" "$CARD_URL" \
+    > "$RESULTS_DIR/cards-during-storm.txt"
+wait "$STORM_PID"
+
+echo ""
+printf "%-20s %12s %12s\n" "run" "req/s" "p99 (s)"
+for run in cards-baseline cards-during-storm login-storm; do
+    f="$RESULTS_DIR/$run.txt"
+    RPS=$(grep "Requests/sec" "$f" | awk '{print $2}')
+    P99=$(grep "99% in" "$f" | awk '{print $3}')
+    printf "%-20s %12s %12s\n" "$run" "$RPS" "$P99"
+done
+echo ""
+echo "Codes des connexions :"
+sed -n '/Status code distribution/,$p' "$RESULTS_DIR/login-storm.txt" | tail -n +2
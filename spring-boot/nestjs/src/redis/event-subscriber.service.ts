@@ -33,7 +33,7 @@ export class EventSubscriberService implements OnModuleInit {
       // S'abonner à tous les événements Kanban avec pattern
       await this.redisService.psubscribe(
         ['kanban.*'],
-        this.handleKanbanEvent.bind(this)
+        (pattern: string, channel: string, message: string) => this.dispatch(channel, message)
       );
       
       this.logger.log('Event subscriptions initialized successfully');
@@ -43,9 +43,9 @@ export class EventSubscriberService implements OnModuleInit {
   }
 
   /**
-   * Gestionnaire principal des événements Kanban
+   * Gestionnaire principal des événements Kanban (pub/sub et Redis Streams)
    */
-  private handleKanbanEvent(pattern: string, channel: string, message: string) {
+  dispatch(channel: string, message: string) {
     try {
       const event: KanbanEvent = JSON.parse(message);
       
@@ -60,6 +60,12 @@ export class EventSubscriberService implements OnModuleInit {
         case 'CardUpdated':
           this.handleCardUpdated(event);
           break;
+        case 'CardMoved':
+        case 'CardDeleted':
+        case 'ListCreated':
+        case 'ListDeleted':
+          this.handleBoardChange(event);
+          break;
         case 'TestEvent':
           this.handleTestEvent(event);
           break;
@@ -95,6 +101,15 @@ export class EventSubscriberService implements OnModuleInit {
     this.logEventProcessing('CardUpdated', event);
   }
 
+  /**
+   * Traitement des déplacements/suppressions de cartes et des créations/suppressions de listes
+   */
+  private handleBoardChange(event: KanbanEvent) {
+    this.logger.log(`Processing ${event.eventType} event (${event.data.action}) for user ${event.data.userId}`);
+
+    this.logEventProcessing(event.eventType, event);
+  }
+
   /**
    * Traitement des événements de test
    */
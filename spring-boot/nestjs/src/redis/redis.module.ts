@@ -2,6 +2,7 @@ import { Module, Global } from '@nestjs/common';
 import { RedisService } from './redis.service';
 import { EventSubscriberService } from './event-subscriber.service';
 import { RedisController } from './redis.controller';
+import { StreamConsumerService } from './stream-consumer.service';
 
 /**
  * Module Redis global pour la communication inter-microservices
@@ -9,7 +10,7 @@ import { RedisController } from './redis.controller';
 @Global()
 @Module({
   controllers: [RedisController],
-  providers: [RedisService, EventSubscriberService],
+  providers: [RedisService, EventSubscriberService, StreamConsumerService],
   exports: [RedisService, EventSubscriberService],
 })
 export class RedisModule {}
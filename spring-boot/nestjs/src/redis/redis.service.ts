@@ -130,6 +130,13 @@ export class RedisService implements OnModuleDestroy {
     }
   }
 
+  /**
+   * Nouvelle connexion dédiée (ex: lectures bloquantes XREADGROUP qui ne doivent pas bloquer le publisher)
+   */
+  createConnection(): Redis {
+    return this.publisher.duplicate();
+  }
+
   /**
    * Obtenir le statut de la connexion Redis
    */
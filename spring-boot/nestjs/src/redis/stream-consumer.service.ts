@@ -0,0 +1,173 @@
+import { Injectable, Logger, OnModuleDestroy, OnModuleInit } from '@nestjs/common';
+import { ConfigService } from '@nestjs/config';
+import Redis from 'ioredis';
+import { hostname } from 'os';
+import { RedisService } from './redis.service';
+import { EventSubscriberService } from './event-subscriber.service';
+
+// fields vaut null pour une entrée en attente déjà supprimée du stream (MAXLEN)
+type StreamEntry = [id: string, fields: string[] | null];
+type StreamReply = [stream: string, entries: StreamEntry[]][] | null;
+type AutoClaimReply = [next: string, entries: StreamEntry[], deleted?: string[]];
+
+/**
+ * Consommateur Redis Streams (groupe de consommateurs) pour les topics routés en stream côté Spring Boot.
+ *
+ * Plusieurs instances se partagent la charge au sein du même groupe ; au démarrage, les entrées
+ * livrées mais non acquittées (crash, redémarrage) sont d'abord rejouées, puis on lit les nouvelles.
+ * Le nom de consommateur est stable (EVENT_STREAM_CONSUMER) pour qu'une instance recréée retrouve
+ * ses entrées en attente ; celles d'un consommateur disparu sont reprises par XAUTOCLAIM au démarrage
+ * puis périodiquement, une fois inactives depuis EVENT_STREAM_CLAIM_MIN_IDLE_MS.
+ */
+@Injectable()
+export class StreamConsumerService implements OnModuleInit, OnModuleDestroy {
+  private readonly logger = new Logger(StreamConsumerService.name);
+  private readonly streams: string[];
+  private readonly group: string;
+  private readonly consumer: string;
+  private readonly claimMinIdleMs: number;
+  private readonly claimIntervalMs: number;
+  private nextClaimAt = 0;
+  private connection: Redis;
+  private running = false;
+
+  constructor(
+    private configService: ConfigService,
+    private redisService: RedisService,
+    private eventSubscriber: EventSubscriberService,
+  ) {
+    // Mêmes valeurs que app.events.streams.topics / app.events.streams.group côté Spring Boot
+    this.streams = this.configService
+      .get<string>('EVENT_STREAMS', '')
+      .split(',')
+      .map((stream) => stream.trim())
+      .filter((stream) => stream.length > 0);
+    this.group = this.configService.get<string>('EVENT_STREAM_GROUP', 'notifications');
+    this.consumer = this.configService.get<string>('EVENT_STREAM_CONSUMER', hostname());
+    this.claimMinIdleMs = Number(this.configService.get<string>('EVENT_STREAM_CLAIM_MIN_IDLE_MS', '60000'));
+    this.claimIntervalMs = Number(this.configService.get<string>('EVENT_STREAM_CLAIM_INTERVAL_MS', '30000'));
+  }
+
+  async onModuleInit() {
+    if (this.streams.length === 0) {
+      this.logger.log('No event streams configured, pub/sub only');
+      return;
+    }
+    this.connection = this.redisService.createConnection();
+    for (const stream of this.streams) {
+      await this.createGroup(stream);
+    }
+    this.running = true;
+    this.consume().catch((error) => this.logger.error('Stream consumer stopped:', error));
+    this.logger.log(`Consuming streams ${this.streams.join(', ')} as ${this.group}/${this.consumer}`);
+  }
+
+  private async createGroup(stream: string) {
+    try {
+      await this.connection.xgroup('CREATE', stream, this.group, '0', 'MKSTREAM');
+    } catch (error) {
+      // BUSYGROUP : groupe déjà créé par Spring Boot ou une autre instance
+      if (!String(error?.message).includes('BUSYGROUP')) {
+        throw error;
+      }
+    }
+  }
+
+  /**
+   * Boucle de lecture : '0' relit nos entrées en attente d'acquittement, '>' lit les nouvelles.
+   * La reprise des entrées abandonnées passe par la même connexion, entre deux lectures bloquantes.
+   */
+  private async consume() {
+    let pendingFirst = true;
+    while (this.running) {
+      try {
+        if (Date.now() >= this.nextClaimAt) {
+          for (const stream of this.streams) {
+            await this.claimStale(stream);
+          }
+          this.nextClaimAt = Date.now() + this.claimIntervalMs;
+        }
+
+        const ids = this.streams.map(() => (pendingFirst ? '0' : '>'));
+        const reply = (await this.connection.xreadgroup(
+          'GROUP', this.group, this.consumer,
+          'COUNT', 100,
+          'BLOCK', pendingFirst ? 1 : 5000,
+          'STREAMS', ...this.streams, ...ids,
+        )) as StreamReply;
+
+        const handled = reply ? await this.handle(reply) : 0;
+        if (pendingFirst && handled === 0) {
+          pendingFirst = false;
+        }
+      } catch (error) {
+        if (!this.running) {
+          return;
+        }
+        this.logger.error('Failed to read event streams, retrying:', error);
+        await new Promise((resolve) => setTimeout(resolve, 1000));
+      }
+    }
+  }
+
+  /**
+   * Reprend (XAUTOCLAIM) les entrées en attente d'autres consommateurs, inactives depuis claimMinIdleMs
+   */
+  private async claimStale(stream: string) {
+    let start = '0-0';
+    do {
+      const [next, entries] = (await this.connection.xautoclaim(
+        stream, this.group, this.consumer, this.claimMinIdleMs, start, 'COUNT', 100,
+      )) as AutoClaimReply;
+      if (entries.length > 0) {
+        this.logger.warn(`Claimed ${entries.length} stale entries on ${stream}`);
+        await this.handleEntries(stream, entries);
+      }
+      start = next;
+    } while (start !== '0-0' && this.running);
+  }
+
+  private async handle(reply: [string, StreamEntry[]][]): Promise<number> {
+    let count = 0;
+    for (const [stream, entries] of reply) {
+      count += await this.handleEntries(stream, entries);
+    }
+    return count;
+  }
+
+  private async handleEntries(stream: string, entries: StreamEntry[]): Promise<number> {
+    if (entries.length === 0) {
+      return 0;
+    }
+    for (const [id, fields] of entries) {
+      if (!fields) {
+        // Entrée tronquée par MAXLEN avant d'être traitée : rien à rejouer, acquittée ci-dessous
+        this.logger.warn(`Skipping trimmed entry ${id} on ${stream}`);
+        continue;
+      }
+      const index = fields.indexOf('event');
+      if (index >= 0) {
+        this.eventSubscriber.dispatch(stream, fields[index + 1]);
+      }
+    }
+    // Les échecs de traitement sont journalisés par dispatch : on acquitte pour ne pas boucler dessus
+    await this.connection.xack(stream, this.group, ...entries.map(([id]) => id));
+    return entries.length;
+  }
+
+  async onModuleDestroy() {
+    this.running = false;
+    if (this.connection) {
+      this.connection.disconnect();
+    }
+  }
+
+  getStats() {
+    return {
+      streams: this.streams,
+      group: this.group,
+      consumer: this.consumer,
+      running: this.running,
+    };
+  }
+}
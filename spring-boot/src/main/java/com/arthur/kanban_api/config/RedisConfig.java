@@ -1,7 +1,12 @@
 package com.arthur.kanban_api.config;
 
+import com.arthur.kanban_api.event.CborKanbanEventCodec;
+import com.arthur.kanban_api.event.JsonKanbanEventCodec;
+import com.arthur.kanban_api.event.KanbanEventCodec;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
@@ -32,17 +37,35 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * Format des événements publiés : "json" (version 1.0, défaut) ou "cbor" (version 2.0 compacte).
+     * Le décodage accepte toujours les deux formats.
+     */
+    @Bean
+    public KanbanEventCodec kanbanEventCodec(@Value("${app.events.encoding:json}") String encoding) {
+        if ("cbor".equalsIgnoreCase(encoding)) {
+            return new CborKanbanEventCodec();
+        }
+        return new JsonKanbanEventCodec();
+    }
+
     /**
      * Container pour les listeners de messages Redis
      */
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
-            RedisConnectionFactory connectionFactory) {
+            RedisConnectionFactory connectionFactory,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
         
-        // Configuration des threads pour les listeners
-        container.setTaskExecutor(null); // Utilise les threads par défaut
+        // Configuration des threads pour les listeners : un thread virtuel par message en mode virtuel,
+        // sinon l'exécuteur par défaut du container
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("redis-listener-");
+            executor.setVirtualThreads(true);
+            container.setTaskExecutor(executor);
+        }
         
         return container;
     }
@@ -0,0 +1,44 @@
+package com.arthur.kanban_api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Les cartes étaient générées en IDENTITY : sur une base existante, la séquence cards_seq créée par
+ * Hibernate repart de 1 et entrerait en collision avec les ids déjà attribués. On la place au-dessus
+ * du plus grand id (marge d'un bloc de l'optimiseur pooled).
+ * <p>
+ * L'alignement a lieu une fois tous les singletons créés (schéma Hibernate à jour), mais avant le démarrage
+ * du serveur web au rafraîchissement du contexte : aucune requête ne peut insérer de carte avant lui.
+ */
+@Component
+public class SequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceAligner.class);
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SequenceAligner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        Long value = jdbcTemplate.queryForObject(
+                "select setval('cards_seq', greatest((select coalesce(max(id), 0) from cards) + ?, " +
+                        "(select last_value from cards_seq)))",
+                Long.class, ALLOCATION_SIZE);
+        logger.info("cards_seq aligned to {}", value);
+    }
+}
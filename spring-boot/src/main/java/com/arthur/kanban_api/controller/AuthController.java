@@ -3,17 +3,27 @@ package com.arthur.kanban_api.controller;
 import com.arthur.kanban_api.dto.LoginRequest;
 import com.arthur.kanban_api.dto.RegisterRequest;
 import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.security.AccessTokenDenylist;
+import com.arthur.kanban_api.security.AuthenticatedUser;
 import com.arthur.kanban_api.security.JwtService;
+import com.arthur.kanban_api.security.PasswordHashingRejectedException;
+import com.arthur.kanban_api.security.RefreshTokenStore;
 import com.arthur.kanban_api.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -23,15 +33,24 @@ public class AuthController {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserDetailsService userDetailsService;
+    private final RefreshTokenStore refreshTokens;
+    private final AccessTokenDenylist denylist;
 
     public AuthController(UserService userService,
                           PasswordEncoder passwordEncoder,
                           AuthenticationManager authenticationManager,
-                          JwtService jwtService) {
+                          JwtService jwtService,
+                          UserDetailsService userDetailsService,
+                          RefreshTokenStore refreshTokens,
+                          AccessTokenDenylist denylist) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.refreshTokens = refreshTokens;
+        this.denylist = denylist;
     }
 
     @PostMapping("/register")
@@ -41,7 +60,11 @@ public class AuthController {
         }
         User user = new User();
         user.setEmail(input.getEmail());
-        user.setPassword(passwordEncoder.encode(input.getPassword()));
+        try {
+            user.setPassword(passwordEncoder.encode(input.getPassword()));
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
+        }
         if (input.getRole() == null || input.getRole().isBlank()) {
             user.setRole("ROLE_USER");
         } else {
@@ -53,36 +76,59 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest payload) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(payload.getEmail(), payload.getPassword())
-        );
-        String token = jwtService.generateToken(payload.getEmail());
-        String refreshToken = jwtService.generateRefreshToken(payload.getEmail());
-        return ResponseEntity.ok(Map.of(
-                "token", token,
-                "refreshToken", refreshToken
-        ));
+        Authentication auth;
+        try {
+            auth = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(payload.getEmail(), payload.getPassword())
+            );
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
+        }
+        AuthenticatedUser user = (AuthenticatedUser) auth.getPrincipal();
+        try {
+            RefreshTokenStore.TokenPair tokens = refreshTokens.issue(user);
+            return ResponseEntity.ok(Map.of(
+                    "token", tokens.token(),
+                    "refreshToken", tokens.refreshToken()
+            ));
+        } catch (DataAccessException e) {
+            return sessionStoreUnavailable();
+        }
     }
 
     @PostMapping("/refresh")
     public ResponseEntity<?> refresh(@RequestHeader("Authorization") String authHeader) {
         String token = authHeader.substring(7); // Remove "Bearer "
-        
-        if (!jwtService.isRefreshToken(token)) {
+
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (Exception e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Token de refresh invalide"));
+        }
+        if (!jwtService.isRefreshToken(claims)) {
             return ResponseEntity.status(401).body(Map.of("error", "Token de refresh invalide"));
         }
         
         try {
-            String email = jwtService.extractSubject(token);
-            String newToken = jwtService.generateToken(email);
-            String newRefreshToken = jwtService.generateRefreshToken(email);
-            
+            AuthenticatedUser user = (AuthenticatedUser) userDetailsService.loadUserByUsername(claims.getSubject());
+            // Un changement d'email, de mot de passe ou de rôle révoque aussi les refresh tokens
+            if (user.getTokenVersion() != jwtService.extractTokenVersion(claims)) {
+                return ResponseEntity.status(401).body(Map.of("error", "Token révoqué"));
+            }
+            // Usage unique : un refresh token déjà consommé révoque toute la session
+            Optional<RefreshTokenStore.TokenPair> tokens = refreshTokens.rotate(token, claims, user);
+            if (tokens.isEmpty()) {
+                return ResponseEntity.status(401).body(Map.of("error", "Token révoqué"));
+            }
             return ResponseEntity.ok(Map.of(
-                    "token", newToken,
-                    "refreshToken", newRefreshToken
+                    "token", tokens.get().token(),
+                    "refreshToken", tokens.get().refreshToken()
             ));
-        } catch (Exception e) {
-            return ResponseEntity.status(401).body(Map.of("error", "Token expiré"));
+        } catch (UsernameNotFoundException e) {
+            return ResponseEntity.status(401).body(Map.of("error", "Token de refresh invalide"));
+        } catch (DataAccessException e) {
+            return sessionStoreUnavailable();
         }
     }
 
@@ -90,18 +136,33 @@ public class AuthController {
     public ResponseEntity<?> logout(@RequestHeader("Authorization") String authHeader) {
         try {
             String token = authHeader.substring(7); // Remove "Bearer "
-            String email = jwtService.extractSubject(token);
-            
-            // Ici on pourrait ajouter le token à une blacklist
-            // Pour l'instant, on retourne juste un succès
-            // Le token expirera naturellement
-            
+            Claims claims = jwtService.parseClaims(token);
+
+            // Ferme la session (plus de rafraîchissement) et révoque le jeton d'accès présenté jusqu'à son échéance
+            refreshTokens.revokeFamily(jwtService.extractFamily(claims));
+            if (!jwtService.isRefreshToken(claims)) {
+                denylist.revoke(claims);
+            }
+
             return ResponseEntity.ok(Map.of("message", "Déconnexion réussie"));
+        } catch (DataAccessException e) {
+            return sessionStoreUnavailable();
         } catch (Exception e) {
             // Même si le token est invalide, on considère la déconnexion comme réussie
             return ResponseEntity.ok(Map.of("message", "Déconnexion réussie"));
         }
     }
-}
 
+    private static ResponseEntity<?> sessionStoreUnavailable() {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Service de session indisponible, réessayez dans un instant"));
+    }
 
+    // Pool de hachage saturé : rejet immédiat plutôt qu'une attente qui bloquerait le reste du trafic
+    private static ResponseEntity<?> hashingUnavailable() {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Trop de connexions simultanées, réessayez dans un instant"));
+    }
+}
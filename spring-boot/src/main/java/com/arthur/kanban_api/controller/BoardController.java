@@ -0,0 +1,83 @@
+package com.arthur.kanban_api.controller;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.security.AuthenticatedUser;
+import com.arthur.kanban_api.service.BoardCache;
+import com.arthur.kanban_api.service.BoardEventHub;
+import com.arthur.kanban_api.service.BoardTransferService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/boards")
+@Tag(name = "Boards", description = "Lecture du tableau Kanban complet")
+public class BoardController {
+
+    private final BoardCache boardCache;
+    private final BoardTransferService transferService;
+    private final BoardEventHub eventHub;
+
+    public BoardController(BoardCache boardCache, BoardTransferService transferService, BoardEventHub eventHub) {
+        this.boardCache = boardCache;
+        this.transferService = transferService;
+        this.eventHub = eventHub;
+    }
+
+    @GetMapping("/me")
+    @Operation(summary = "Tableau de l'utilisateur", description = "Retourne toutes les listes de l'utilisateur connecté avec leurs cartes ordonnées ; 304 si If-None-Match correspond (polling)")
+    public ResponseEntity<List<BoardListResponse>> me(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      @AuthenticationPrincipal AuthenticatedUser principal) {
+        List<BoardListResponse> board = boardCache.get(principal.getId());
+        String etag = ETags.ofBoard(board);
+        if (ETags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(board);
+    }
+
+    @GetMapping(value = "/me/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suivre le tableau", description = "Flux SSE des événements du tableau de l'utilisateur connecté ; Last-Event-ID reprend après le dernier événement reçu, un événement resync demande de recharger le tableau")
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             @AuthenticationPrincipal AuthenticatedUser principal) {
+        return eventHub.connect(principal.getId(), lastEventId);
+    }
+
+    @GetMapping(value = "/me/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporter le tableau", description = "Flux NDJSON des listes puis des cartes de l'utilisateur connecté")
+    public ResponseEntity<StreamingResponseBody> export(@AuthenticationPrincipal AuthenticatedUser principal) {
+        Long ownerId = principal.getId();
+        StreamingResponseBody body = out -> transferService.export(ownerId, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"board.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/me/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importer un tableau", description = "Ajoute au tableau de l'utilisateur connecté les listes et cartes d'un export NDJSON")
+    public ResponseEntity<?> importBoard(HttpServletRequest request,
+                                         @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            BoardTransferService.ImportResult result = transferService.importBoard(principal.getId(), request.getInputStream());
+            return ResponseEntity.ok(Map.of("lists", result.lists(), "cards", result.cards()));
+        } catch (IllegalArgumentException | IOException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Import invalide : " + e.getMessage()));
+        }
+    }
+}
@@ -1,20 +1,28 @@
 package com.arthur.kanban_api.controller;
 
+import com.arthur.kanban_api.dto.CardBatchRequest;
+import com.arthur.kanban_api.dto.CardBatchResponse;
 import com.arthur.kanban_api.dto.CardCreateRequest;
+import com.arthur.kanban_api.dto.CardCursor;
+import com.arthur.kanban_api.dto.CardMoveRequest;
 import com.arthur.kanban_api.dto.CardResponse;
 import com.arthur.kanban_api.dto.CardUpdateRequest;
 import com.arthur.kanban_api.entity.Card;
 import com.arthur.kanban_api.entity.KanbanList;
-import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.security.AuthenticatedUser;
+import com.arthur.kanban_api.service.CardBatchService;
 import com.arthur.kanban_api.service.CardService;
 import com.arthur.kanban_api.service.KanbanListService;
 import com.arthur.kanban_api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.net.URI;
 import java.util.Map;
@@ -24,59 +32,119 @@ import java.util.Map;
 @Tag(name = "Cards", description = "Endpoints de gestion des cartes Kanban")
 public class CardController {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final CardService cardService;
+    private final CardBatchService cardBatchService;
     private final KanbanListService listService;
     private final UserService userService;
 
-    public CardController(CardService cardService, KanbanListService listService, UserService userService) {
+    public CardController(CardService cardService, CardBatchService cardBatchService,
+                          KanbanListService listService, UserService userService) {
         this.cardService = cardService;
+        this.cardBatchService = cardBatchService;
         this.listService = listService;
         this.userService = userService;
     }
 
     @PostMapping("/lists/{listId}/cards")
-    @Operation(summary = "Créer une carte", description = "Crée une carte dans une liste appartenant à l'utilisateur connecté")
+    @Operation(summary = "Créer une carte", description = "Crée une carte en fin d'une liste appartenant à l'utilisateur connecté")
     public ResponseEntity<?> create(@PathVariable Long listId,
                                     @Valid @RequestBody CardCreateRequest request,
-                                    Authentication authentication) {
-        String email = authentication.getName();
-        User owner = userService.findByEmail(email).orElse(null);
-        if (owner == null) {
-            return ResponseEntity.status(404).body(Map.of("error", "Utilisateur non trouvé"));
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (!listService.isEditable(listId, principal.getId(), principal.isAdmin())) {
+            return listRefused(listId, "Liste non trouvée", "Accès refusé");
         }
 
-        KanbanList list = listService.findById(listId).orElse(null);
-        if (list == null) {
-            return ResponseEntity.status(404).body(Map.of("error", "Liste non trouvée"));
+        Card card = new Card();
+        card.setTitle(request.getTitle().trim());
+        card.setDescription(request.getDescription());
+        card.setList(listService.getReference(listId));
+        card.setOwner(userService.getReference(principal.getId()));
+        Card saved = cardService.create(card);
+        return ResponseEntity.created(URI.create("/api/cards/" + saved.getId()))
+                .eTag(ETags.of(saved.getVersion()))
+                .body(toResponse(saved));
+    }
+
+    @GetMapping("/lists/{listId}/cards")
+    @Operation(summary = "Cartes d'une liste", description = "Page de cartes ordonnées ; passer le curseur 'next' reçu dans 'after' pour la page suivante")
+    public ResponseEntity<?> list(@PathVariable Long listId,
+                                  @RequestParam(required = false) String after,
+                                  @RequestParam(defaultValue = "50") int limit,
+                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error", "limit doit être entre 1 et " + MAX_PAGE_SIZE));
+        }
+        CardCursor cursor;
+        try {
+            cursor = after != null ? CardCursor.parse(after) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
 
-        boolean isOwner = list.getOwner().getId().equals(owner.getId());
-        boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        if (!isOwner && !isAdmin) {
-            return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+        if (!listService.isEditable(listId, principal.getId(), principal.isAdmin())) {
+            return listRefused(listId, "Liste non trouvée", "Accès refusé");
         }
+        return ResponseEntity.ok(cardService.findPage(listId, cursor, limit));
+    }
 
-        Card card = new Card();
-        card.setTitle(request.getTitle().trim());
-        card.setDescription(request.getDescription());
-        card.setPosition(request.getPosition());
-        card.setList(list);
-        card.setOwner(owner);
-        Card saved = cardService.save(card);
-        return ResponseEntity.created(URI.create("/api/cards/" + saved.getId())).body(toResponse(saved));
+    @PostMapping("/cards:batch")
+    @Operation(summary = "Opérations groupées", description = "Crée, modifie et supprime des cartes en une transaction (tout ou rien)")
+    public ResponseEntity<?> batch(@Valid @RequestBody CardBatchRequest request,
+                                   @AuthenticationPrincipal AuthenticatedUser principal) {
+        try {
+            CardBatchService.Result result = cardBatchService.apply(request, principal.getId(), principal.isAdmin());
+            return ResponseEntity.ok(new CardBatchResponse(
+                    result.created().stream().map(this::toResponse).toList(),
+                    result.updated().stream().map(this::toResponse).toList(),
+                    result.deleted()
+            ));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(Map.of("error", e.getReason()));
+        } catch (OptimisticLockingFailureException e) {
+            // Pas de If-Match par carte dans un lot : une modification concurrente annule tout le lot
+            return ResponseEntity.status(409).body(Map.of("error", "Carte modifiée entre-temps, lot annulé"));
+        }
+    }
+
+    @GetMapping("/cards/{id}")
+    @Operation(summary = "Lire une carte", description = "Retourne une carte si on est propriétaire ou admin ; 304 si If-None-Match correspond à sa version")
+    public ResponseEntity<?> get(@PathVariable Long id,
+                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                 @AuthenticationPrincipal AuthenticatedUser principal) {
+        return cardService.findResponseById(id).<ResponseEntity<?>>map(card -> {
+            boolean isOwner = card.getOwnerId().equals(principal.getId());
+            if (!isOwner && !principal.isAdmin()) {
+                return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+            }
+            String etag = ETags.of(card.getVersion());
+            if (ETags.notModified(ifNoneMatch, etag)) {
+                return ResponseEntity.status(304).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(card);
+        }).orElse(ResponseEntity.status(404).body(Map.of("error", "Carte non trouvée")));
     }
 
     @PatchMapping("/cards/{id}")
-    @Operation(summary = "Modifier une carte", description = "Modifie les champs d'une carte si on est propriétaire ou admin")
+    @Operation(summary = "Modifier une carte", description = "Modifie les champs d'une carte si on est propriétaire ou admin ; 412 si If-Match ne correspond plus à sa version")
     public ResponseEntity<?> update(@PathVariable Long id,
                                     @Valid @RequestBody CardUpdateRequest request,
-                                    Authentication authentication) {
-        return cardService.findById(id).map(existing -> {
-            String requesterEmail = authentication.getName();
-            boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isOwner = existing.getOwner().getEmail().equalsIgnoreCase(requesterEmail);
-            if (!isOwner && !isAdmin) {
-                return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
+        return cardService.findEditable(id, principal.getId(), principal.isAdmin()).<ResponseEntity<?>>map(existing -> {
+            if (!ETags.matches(ifMatch, existing.getVersion())) {
+                return preconditionFailed(existing);
+            }
+            Long previousListId = existing.getList().getId();
+            Integer previousPosition = existing.getPosition();
+
+            if (request.getListId() != null && !request.getListId().equals(previousListId)) {
+                // Autoriser le déplacement uniquement si la nouvelle liste appartient au même owner ou admin
+                if (!listService.isEditable(request.getListId(), principal.getId(), principal.isAdmin())) {
+                    return listRefused(request.getListId(), "Nouvelle liste non trouvée", "Accès refusé pour déplacer la carte");
+                }
+                existing.setList(listService.getReference(request.getListId()));
             }
 
             if (request.getTitle() != null && !request.getTitle().isBlank()) {
@@ -91,37 +159,95 @@ public class CardController {
                 existing.setPosition(request.getPosition());
             }
 
-            if (request.getListId() != null) {
-                KanbanList newList = listService.findById(request.getListId()).orElse(null);
-                if (newList == null) {
-                    return ResponseEntity.status(404).body(Map.of("error", "Nouvelle liste non trouvée"));
-                }
-                // Autoriser le déplacement uniquement si la nouvelle liste appartient au même owner ou admin
-                boolean newListOwner = newList.getOwner().getEmail().equalsIgnoreCase(requesterEmail);
-                if (!newListOwner && !isAdmin) {
-                    return ResponseEntity.status(403).body(Map.of("error", "Accès refusé pour déplacer la carte"));
+            try {
+                Card saved = cardService.update(existing, previousListId, previousPosition);
+                return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(toResponse(saved));
+            } catch (OptimisticLockingFailureException e) {
+                return concurrentModification(ifMatch);
+            }
+        }).orElseGet(() -> cardRefused(id));
+    }
+
+    @PostMapping("/cards/{id}/move")
+    @Operation(summary = "Déplacer une carte", description = "Place la carte entre deux voisines (beforeId/afterId), éventuellement dans une autre liste")
+    public ResponseEntity<?> move(@PathVariable Long id,
+                                  @RequestBody CardMoveRequest request,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                  @AuthenticationPrincipal AuthenticatedUser principal) {
+        return cardService.findEditable(id, principal.getId(), principal.isAdmin()).<ResponseEntity<?>>map(existing -> {
+            if (!ETags.matches(ifMatch, existing.getVersion())) {
+                return preconditionFailed(existing);
+            }
+            KanbanList target = existing.getList();
+            if (request.getListId() != null && !request.getListId().equals(target.getId())) {
+                if (!listService.isEditable(request.getListId(), principal.getId(), principal.isAdmin())) {
+                    return listRefused(request.getListId(), "Nouvelle liste non trouvée", "Accès refusé pour déplacer la carte");
                 }
-                existing.setList(newList);
+                target = listService.getReference(request.getListId());
             }
 
-            Card saved = cardService.save(existing);
-            return ResponseEntity.ok(toResponse(saved));
-        }).orElse(ResponseEntity.status(404).body(Map.of("error", "Carte non trouvée")));
+            try {
+                Card saved = cardService.move(existing, target, request.getBeforeId(), request.getAfterId());
+                return ResponseEntity.ok().eTag(ETags.of(saved.getVersion())).body(toResponse(saved));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            } catch (OptimisticLockingFailureException e) {
+                return concurrentModification(ifMatch);
+            }
+        }).orElseGet(() -> cardRefused(id));
     }
 
     @DeleteMapping("/cards/{id}")
     @Operation(summary = "Supprimer une carte", description = "Supprime une carte si on est propriétaire ou admin")
-    public ResponseEntity<?> delete(@PathVariable Long id, Authentication authentication) {
-        return cardService.findById(id).map(existing -> {
-            String requesterEmail = authentication.getName();
-            boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isOwner = existing.getOwner().getEmail().equalsIgnoreCase(requesterEmail);
-            if (!isOwner && !isAdmin) {
-                return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+    public ResponseEntity<?> delete(@PathVariable Long id,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
+        return cardService.findEditable(id, principal.getId(), principal.isAdmin()).<ResponseEntity<?>>map(existing -> {
+            if (!ETags.matches(ifMatch, existing.getVersion())) {
+                return preconditionFailed(existing);
             }
-            cardService.delete(existing);
-            return ResponseEntity.noContent().build();
-        }).orElse(ResponseEntity.status(404).body(Map.of("error", "Carte non trouvée")));
+            try {
+                cardService.delete(existing);
+                return ResponseEntity.noContent().build();
+            } catch (OptimisticLockingFailureException e) {
+                return concurrentModification(ifMatch);
+            }
+        }).orElseGet(() -> cardRefused(id));
+    }
+
+    /**
+     * If-Match périmé : la réponse porte l'ETag actuel pour que le client recharge puis rejoue
+     */
+    private ResponseEntity<?> preconditionFailed(Card current) {
+        return ResponseEntity.status(412)
+                .eTag(ETags.of(current.getVersion()))
+                .body(Map.of("error", "La carte a été modifiée entre-temps"));
+    }
+
+    /**
+     * Modification concurrente détectée à l'écriture (UPDATE ... WHERE version = ?) : 412 pour une requête
+     * conditionnelle, 409 sinon
+     */
+    private ResponseEntity<?> concurrentModification(String ifMatch) {
+        int status = ifMatch != null && !ifMatch.isBlank() ? 412 : 409;
+        return ResponseEntity.status(status).body(Map.of("error", "La carte a été modifiée entre-temps"));
+    }
+
+    /**
+     * Réponse quand la carte n'est pas modifiable : la requête d'existence n'est faite que sur ce chemin d'échec
+     */
+    private ResponseEntity<?> cardRefused(Long id) {
+        if (cardService.exists(id)) {
+            return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+        }
+        return ResponseEntity.status(404).body(Map.of("error", "Carte non trouvée"));
+    }
+
+    private ResponseEntity<?> listRefused(Long listId, String notFound, String forbidden) {
+        if (listService.exists(listId)) {
+            return ResponseEntity.status(403).body(Map.of("error", forbidden));
+        }
+        return ResponseEntity.status(404).body(Map.of("error", notFound));
     }
 
     private CardResponse toResponse(Card card) {
@@ -133,7 +259,8 @@ public class CardController {
                 card.getList().getId(),
                 card.getOwner().getId(),
                 card.getCreatedAt(),
-                card.getUpdatedAt()
+                card.getUpdatedAt(),
+                card.getVersion()
         );
     }
 }
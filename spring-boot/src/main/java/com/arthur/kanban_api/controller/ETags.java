@@ -0,0 +1,113 @@
+package com.arthur.kanban_api.controller;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.dto.CardResponse;
+import com.arthur.kanban_api.dto.ListResponse;
+
+import java.util.List;
+
+/**
+ * ETags dérivés des colonnes {@code @Version} et requêtes conditionnelles (If-Match, If-None-Match).
+ * <p>
+ * Une carte ou une liste a un ETag fort, son numéro de version ({@code "3"}). Une collection a un ETag faible
+ * calculé sur les couples (id, version) de ses éléments : il change à chaque création, modification
+ * ou suppression, sans sérialiser la réponse.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofBoard(List<BoardListResponse> board) {
+        long hash = 1;
+        for (BoardListResponse list : board) {
+            hash = mix(hash, list.getId(), list.getVersion());
+            for (CardResponse card : list.getCards()) {
+                hash = mix(hash, card.getId(), card.getVersion());
+            }
+            hash = mix(hash, -1, list.getCards().size());
+        }
+        return weak(hash);
+    }
+
+    static String ofLists(List<ListResponse> lists) {
+        long hash = 1;
+        for (ListResponse list : lists) {
+            hash = mix(hash, list.getId(), list.getVersion());
+        }
+        return weak(hash);
+    }
+
+    /**
+     * If-Match : absent ou "*" pour une écriture inconditionnelle, sinon l'une des valeurs doit être
+     * l'ETag actuel (comparaison forte : un ETag faible ne correspond jamais)
+     */
+    static boolean matches(String ifMatch, Long version) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+        String current = of(version);
+        for (String tag : ifMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || candidate.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vrai si If-Match désigne une version précise, que l'écriture doit alors vérifier elle-même
+     * (absent ou "*" : écriture inconditionnelle)
+     */
+    static boolean conditional(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return false;
+        }
+        for (String tag : ifMatch.split(",")) {
+            if (tag.trim().equals("*")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * If-None-Match : vrai si le client a déjà cette représentation (comparaison faible), réponse 304
+     */
+    static boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String tag : ifNoneMatch.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*") || opaque(candidate).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static long mix(long hash, long id, long version) {
+        return step(step(hash, id), version);
+    }
+
+    // Mélange multiplicatif (constante de Fibonacci) : un ordre ou un couple différent change tous les bits
+    private static long step(long hash, long value) {
+        hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private static String weak(long hash) {
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -3,17 +3,20 @@ package com.arthur.kanban_api.controller;
 import com.arthur.kanban_api.dto.ListCreateRequest;
 import com.arthur.kanban_api.dto.ListResponse;
 import com.arthur.kanban_api.entity.KanbanList;
-import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.security.AuthenticatedUser;
 import com.arthur.kanban_api.service.KanbanListService;
 import com.arthur.kanban_api.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -29,35 +32,53 @@ public class ListController {
         this.userService = userService;
     }
 
+    @GetMapping
+    @Operation(summary = "Listes de l'utilisateur", description = "Retourne les listes de l'utilisateur connecté, sans leurs cartes ; 304 si If-None-Match correspond")
+    public ResponseEntity<List<ListResponse>> mine(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                   @AuthenticationPrincipal AuthenticatedUser principal) {
+        List<ListResponse> lists = listService.findLists(principal.getId());
+        String etag = ETags.ofLists(lists);
+        if (ETags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(304).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(lists);
+    }
+
     @PostMapping
     @Operation(summary = "Créer une liste", description = "Crée une nouvelle liste pour l'utilisateur connecté")
-    public ResponseEntity<?> create(@Valid @RequestBody ListCreateRequest request, Authentication authentication) {
-        String email = authentication.getName();
-        User owner = userService.findByEmail(email).orElse(null);
-        if (owner == null) {
-            return ResponseEntity.status(404).body(Map.of("error", "Utilisateur non trouvé"));
-        }
+    public ResponseEntity<?> create(@Valid @RequestBody ListCreateRequest request,
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
         KanbanList list = new KanbanList();
         list.setTitle(request.getTitle().trim());
         list.setPosition(request.getPosition() != null ? request.getPosition() : 0);
-        list.setOwner(owner);
-        KanbanList saved = listService.save(list);
-        return ResponseEntity.created(URI.create("/api/lists/" + saved.getId())).body(toResponse(saved));
+        list.setOwner(userService.getReference(principal.getId()));
+        KanbanList saved = listService.create(list);
+        return ResponseEntity.created(URI.create("/api/lists/" + saved.getId()))
+                .eTag(ETags.of(saved.getVersion()))
+                .body(toResponse(saved));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Supprimer une liste", description = "Supprime une liste si on est propriétaire ou admin")
-    public ResponseEntity<?> delete(@PathVariable Long id, Authentication authentication) {
-        return listService.findById(id).map(existing -> {
-            String requesterEmail = authentication.getName();
-            boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-            boolean isOwner = existing.getOwner().getEmail().equalsIgnoreCase(requesterEmail);
-            if (!isOwner && !isAdmin) {
-                return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
+    public ResponseEntity<?> delete(@PathVariable Long id,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
+        return listService.findEditable(id, principal.getId(), principal.isAdmin()).<ResponseEntity<?>>map(existing -> {
+            if (!ETags.matches(ifMatch, existing.getVersion())) {
+                return ResponseEntity.status(412)
+                        .eTag(ETags.of(existing.getVersion()))
+                        .body(Map.of("error", "La liste a été modifiée entre-temps"));
+            }
+            try {
+                // Version vérifiée par la requête de suppression : une modification depuis la lecture n'est pas perdue
+                listService.delete(existing, ETags.conditional(ifMatch) ? existing.getVersion() : null);
+            } catch (OptimisticLockingFailureException e) {
+                return ResponseEntity.status(412).body(Map.of("error", "La liste a été modifiée entre-temps"));
             }
-            listService.deleteById(existing.getId());
             return ResponseEntity.noContent().build();
-        }).orElse(ResponseEntity.status(404).body(Map.of("error", "Liste non trouvée")));
+        }).orElseGet(() -> listService.exists(id)
+                ? ResponseEntity.status(403).body(Map.of("error", "Accès refusé"))
+                : ResponseEntity.status(404).body(Map.of("error", "Liste non trouvée")));
     }
 
     private ListResponse toResponse(KanbanList list) {
@@ -67,7 +88,8 @@ public class ListController {
                 list.getPosition(),
                 list.getOwner().getId(),
                 list.getCreatedAt(),
-                list.getUpdatedAt()
+                list.getUpdatedAt(),
+                list.getVersion()
         );
     }
 }
\ No newline at end of file
@@ -3,14 +3,20 @@ package com.arthur.kanban_api.controller;
 import com.arthur.kanban_api.dto.UpdateUserRequest;
 import com.arthur.kanban_api.dto.UserResponse;
 import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.security.AuthenticatedUser;
+import com.arthur.kanban_api.security.CustomUserDetailsService;
+import com.arthur.kanban_api.security.PasswordHashingRejectedException;
+import com.arthur.kanban_api.security.TokenVersionRegistry;
 import com.arthur.kanban_api.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/users")
@@ -18,32 +24,40 @@ public class UserController {
 
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersions;
 
-    public UserController(UserService userService, PasswordEncoder passwordEncoder) {
+    public UserController(UserService userService,
+                          PasswordEncoder passwordEncoder,
+                          CustomUserDetailsService userDetailsService,
+                          TokenVersionRegistry tokenVersions) {
         this.userService = userService;
         this.passwordEncoder = passwordEncoder;
+        this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> me(Authentication authentication) {
-        String email = authentication.getName();
-        return userService.findByEmail(email)
-                .<ResponseEntity<?>>map(user -> ResponseEntity.ok(toResponse(user)))
+    public ResponseEntity<?> me(@AuthenticationPrincipal AuthenticatedUser principal) {
+        return userService.findResponseById(principal.getId())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
                 .orElse(ResponseEntity.status(404).body(Map.of("error", "Utilisateur non trouvé")));
     }
 
     @PatchMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable Long id,
                                     @Valid @RequestBody UpdateUserRequest request,
-                                    Authentication authentication) {
+                                    @AuthenticationPrincipal AuthenticatedUser principal) {
         // Règles d'accès:
         // - L'utilisateur peut modifier son propre compte (email/password)
         // - Seul ROLE_ADMIN peut modifier le rôle OU modifier un autre utilisateur
-        String requesterEmail = authentication.getName();
-        boolean isAdmin = authentication.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        boolean isAdmin = principal.isAdmin();
 
         return userService.findById(id).map(existing -> {
-            boolean isSelf = existing.getEmail().equalsIgnoreCase(requesterEmail);
+            boolean isSelf = existing.getId().equals(principal.getId());
+            String previousEmail = existing.getEmail();
+            String previousPassword = existing.getPassword();
+            String previousRole = existing.getRole();
             if (!isSelf && !isAdmin) {
                 return ResponseEntity.status(403).body(Map.of("error", "Accès refusé"));
             }
@@ -57,7 +71,13 @@ public class UserController {
             }
 
             if (request.getPassword() != null && !request.getPassword().isBlank()) {
-                existing.setPassword(passwordEncoder.encode(request.getPassword()));
+                try {
+                    existing.setPassword(passwordEncoder.encode(request.getPassword()));
+                } catch (PasswordHashingRejectedException e) {
+                    return ResponseEntity.status(503)
+                            .header(HttpHeaders.RETRY_AFTER, "1")
+                            .body(Map.of("error", "Trop de requêtes simultanées, réessayez dans un instant"));
+                }
             }
 
             if (request.getRole() != null && !request.getRole().isBlank()) {
@@ -67,7 +87,19 @@ public class UserController {
                 existing.setRole(request.getRole().trim());
             }
 
+            boolean credentialsChanged = !Objects.equals(previousEmail, existing.getEmail())
+                    || !Objects.equals(previousPassword, existing.getPassword())
+                    || !Objects.equals(previousRole, existing.getRole());
+            if (credentialsChanged) {
+                // Révoque les JWT émis avec l'ancienne identité, l'ancien mot de passe ou l'ancien rôle
+                existing.setTokenVersion(existing.getTokenVersion() + 1);
+            }
+
             User saved = userService.save(existing);
+            // Le principal mis en cache ne reflète plus l'email, le mot de passe ou le rôle
+            userDetailsService.evict(previousEmail);
+            userDetailsService.evict(saved.getEmail());
+            tokenVersions.update(saved.getId(), saved.getTokenVersion());
             return ResponseEntity.ok(toResponse(saved));
         }).orElse(ResponseEntity.status(404).body(Map.of("error", "Utilisateur non trouvé")));
     }
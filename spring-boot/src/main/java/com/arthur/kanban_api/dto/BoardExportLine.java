@@ -0,0 +1,15 @@
+package com.arthur.kanban_api.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * Ligne de l'export NDJSON d'un tableau : d'abord les listes, puis les cartes (chacune après sa liste)
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ExportedList.class, name = "list"),
+        @JsonSubTypes.Type(value = ExportedCard.class, name = "card")
+})
+public sealed interface BoardExportLine permits ExportedList, ExportedCard {
+}
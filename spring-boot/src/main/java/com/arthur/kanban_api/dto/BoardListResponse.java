@@ -0,0 +1,37 @@
+package com.arthur.kanban_api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+
+@Schema(name = "BoardListResponse")
+public class BoardListResponse {
+    private final Long id;
+    private final String title;
+    private final Integer position;
+    private final Long ownerId;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final Long version;
+    private final List<CardResponse> cards;
+
+    public BoardListResponse(Long id, String title, Integer position, Long ownerId, Instant createdAt, Instant updatedAt, Long version, List<CardResponse> cards) {
+        this.id = id;
+        this.title = title;
+        this.position = position;
+        this.ownerId = ownerId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.cards = cards;
+    }
+
+    public Long getId() { return id; }
+    public String getTitle() { return title; }
+    public Integer getPosition() { return position; }
+    public Long getOwnerId() { return ownerId; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+    public List<CardResponse> getCards() { return cards; }
+}
@@ -0,0 +1,35 @@
+package com.arthur.kanban_api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opérations groupées sur les cartes, appliquées en une seule transaction (tout ou rien)
+ */
+public class CardBatchRequest {
+
+    public static final int MAX_OPERATIONS = 5000;
+
+    @Valid
+    @Size(max = MAX_OPERATIONS, message = "Trop de cartes à créer")
+    private List<CardCreateRequest> create = new ArrayList<>();
+
+    @Valid
+    @Size(max = MAX_OPERATIONS, message = "Trop de cartes à modifier")
+    private List<CardBatchUpdate> update = new ArrayList<>();
+
+    @Size(max = MAX_OPERATIONS, message = "Trop de cartes à supprimer")
+    private List<Long> delete = new ArrayList<>();
+
+    public List<CardCreateRequest> getCreate() { return create; }
+    public void setCreate(List<CardCreateRequest> create) { this.create = create != null ? create : new ArrayList<>(); }
+
+    public List<CardBatchUpdate> getUpdate() { return update; }
+    public void setUpdate(List<CardBatchUpdate> update) { this.update = update != null ? update : new ArrayList<>(); }
+
+    public List<Long> getDelete() { return delete; }
+    public void setDelete(List<Long> delete) { this.delete = delete != null ? delete : new ArrayList<>(); }
+}
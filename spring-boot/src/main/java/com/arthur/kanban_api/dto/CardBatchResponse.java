@@ -0,0 +1,19 @@
+package com.arthur.kanban_api.dto;
+
+import java.util.List;
+
+public class CardBatchResponse {
+    private final List<CardResponse> created;
+    private final List<CardResponse> updated;
+    private final List<Long> deleted;
+
+    public CardBatchResponse(List<CardResponse> created, List<CardResponse> updated, List<Long> deleted) {
+        this.created = created;
+        this.updated = updated;
+        this.deleted = deleted;
+    }
+
+    public List<CardResponse> getCreated() { return created; }
+    public List<CardResponse> getUpdated() { return updated; }
+    public List<Long> getDeleted() { return deleted; }
+}
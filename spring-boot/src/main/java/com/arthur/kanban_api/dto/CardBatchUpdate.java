@@ -0,0 +1,16 @@
+package com.arthur.kanban_api.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Modification d'une carte dans un lot : {@code position} est refusée (400), une carte changée de liste
+ * est ajoutée en fin de sa nouvelle liste
+ */
+public class CardBatchUpdate extends CardUpdateRequest {
+
+    @NotNull(message = "L'identifiant de la carte est obligatoire")
+    private Long id;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+}
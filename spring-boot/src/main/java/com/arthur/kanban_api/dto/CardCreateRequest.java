@@ -11,7 +11,7 @@ public class CardCreateRequest {
 
     private String description;
 
-    @NotNull(message = "La position est obligatoire")
+    // Ignorée : la carte est ajoutée en fin de liste, à placer ensuite avec POST /api/cards/{id}/move
     @Min(value = 0, message = "La position doit être >= 0")
     private Integer position;
 
@@ -0,0 +1,32 @@
+package com.arthur.kanban_api.dto;
+
+/**
+ * Curseur de pagination d'une liste de cartes : clé (position, id) de la dernière carte reçue, au format "position,id"
+ */
+public record CardCursor(int position, long id) {
+
+    /**
+     * @throws IllegalArgumentException si la valeur n'est pas au format "position,id"
+     */
+    public static CardCursor parse(String value) {
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("Curseur invalide : " + value);
+        }
+        try {
+            return new CardCursor(Integer.parseInt(value.substring(0, comma).trim()),
+                    Long.parseLong(value.substring(comma + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Curseur invalide : " + value);
+        }
+    }
+
+    public static CardCursor of(CardResponse card) {
+        return new CardCursor(card.getPosition(), card.getId());
+    }
+
+    @Override
+    public String toString() {
+        return position + "," + id;
+    }
+}
@@ -0,0 +1,21 @@
+package com.arthur.kanban_api.dto;
+
+public class CardMoveRequest {
+
+    private Long listId; // Liste cible ; par défaut la liste actuelle de la carte
+
+    // Voisines dans la liste cible : avec une seule, l'autre est déduite ; aucune = en fin de liste.
+    // En tête : afterId = première carte. Deux voisines non adjacentes sont refusées (400)
+    private Long beforeId; // Carte qui précédera la carte déplacée
+
+    private Long afterId; // Carte qui suivra la carte déplacée
+
+    public Long getListId() { return listId; }
+    public void setListId(Long listId) { this.listId = listId; }
+
+    public Long getBeforeId() { return beforeId; }
+    public void setBeforeId(Long beforeId) { this.beforeId = beforeId; }
+
+    public Long getAfterId() { return afterId; }
+    public void setAfterId(Long afterId) { this.afterId = afterId; }
+}
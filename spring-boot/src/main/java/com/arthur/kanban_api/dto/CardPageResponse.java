@@ -0,0 +1,16 @@
+package com.arthur.kanban_api.dto;
+
+import java.util.List;
+
+public class CardPageResponse {
+    private final List<CardResponse> items;
+    private final String next; // Curseur de la page suivante, null sur la dernière page
+
+    public CardPageResponse(List<CardResponse> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<CardResponse> getItems() { return items; }
+    public String getNext() { return next; }
+}
@@ -11,8 +11,9 @@ public class CardResponse {
     private final Long ownerId;
     private final Instant createdAt;
     private final Instant updatedAt;
+    private final Long version;
 
-    public CardResponse(Long id, String title, String description, Integer position, Long listId, Long ownerId, Instant createdAt, Instant updatedAt) {
+    public CardResponse(Long id, String title, String description, Integer position, Long listId, Long ownerId, Instant createdAt, Instant updatedAt, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -21,6 +22,7 @@ public class CardResponse {
         this.ownerId = ownerId;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public Long getId() { return id; }
@@ -31,6 +33,7 @@ public class CardResponse {
     public Long getOwnerId() { return ownerId; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
 }
 
 
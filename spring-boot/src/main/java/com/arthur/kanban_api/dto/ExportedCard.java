@@ -0,0 +1,4 @@
+package com.arthur.kanban_api.dto;
+
+public record ExportedCard(Long id, Long listId, String title, String description, Integer position) implements BoardExportLine {
+}
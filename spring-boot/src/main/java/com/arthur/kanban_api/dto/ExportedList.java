@@ -0,0 +1,4 @@
+package com.arthur.kanban_api.dto;
+
+public record ExportedList(Long id, String title, Integer position) implements BoardExportLine {
+}
@@ -11,14 +11,16 @@ public class ListResponse {
     private Long ownerId;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
-    public ListResponse(Long id, String title, Integer position, Long ownerId, Instant createdAt, Instant updatedAt) {
+    public ListResponse(Long id, String title, Integer position, Long ownerId, Instant createdAt, Instant updatedAt, Long version) {
         this.id = id;
         this.title = title;
         this.position = position;
         this.ownerId = ownerId;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public Long getId() { return id; }
@@ -27,6 +29,7 @@ public class ListResponse {
     public Long getOwnerId() { return ownerId; }
     public Instant getCreatedAt() { return createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
 }
 
 
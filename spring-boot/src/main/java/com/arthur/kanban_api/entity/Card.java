@@ -2,15 +2,19 @@ package com.arthur.kanban_api.entity;
 
 import jakarta.persistence.*;
 import java.time.Instant;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "cards")
+// Lecture d'une liste dans l'ordre et recherche des voisines lors d'un déplacement
+@Table(name = "cards", indexes = @Index(name = "idx_cards_list_position", columnList = "list_id, position, id"))
 public class Card {
 
+    // Séquence avec optimiseur pooled : un appel à la séquence pour 50 cartes, et inserts groupés en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cards_seq")
+    @SequenceGenerator(name = "cards_seq", sequenceName = "cards_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +41,12 @@ public class Card {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Verrouillage optimiste : incrémenté à chaque modification, exposé en ETag (If-Match → 412 si périmé)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         Instant now = Instant.now();
@@ -100,6 +110,10 @@ public class Card {
     public Instant getUpdatedAt() {
         return updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
 
 
@@ -1,12 +1,17 @@
 package com.arthur.kanban_api.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import com.arthur.kanban_api.entity.Card;
 import java.util.List;
 
 @Entity
-@Table(name = "lists")
+@Table(name = "lists", indexes = @Index(name = "idx_lists_owner_position", columnList = "owner_id, position, id"))
+// Cache de second niveau pour les lectures par id (la collection de cartes n'est pas mise en cache)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "lists")
 public class KanbanList {
 
     @Id
@@ -24,6 +29,7 @@ public class KanbanList {
     private User owner;
 
     @OneToMany(mappedBy = "list", cascade = CascadeType.REMOVE, orphanRemoval = true)
+    @OrderBy("position ASC, id ASC")
     private List<Card> cards;
 
     @Column(nullable = false, updatable = false)
@@ -32,6 +38,12 @@ public class KanbanList {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    // Verrouillage optimiste : incrémenté à chaque modification, exposé en ETag (If-Match → 412 si périmé)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         Instant now = Instant.now();
@@ -80,6 +92,10 @@ public class KanbanList {
         return updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<Card> getCards() {
         return cards;
     }
@@ -5,17 +5,26 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity //ça permet de déclarer à l'environnement qu'il s'agit d'un fichier entité
 @Table(name = "users") //ça permet de déclarer la table dans la base de données
+// Cache de second niveau : par id et par email (identifiant naturel), régions configurées dans hibernate-cache.conf
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User {
       @Id
       @GeneratedValue(strategy = GenerationType.IDENTITY)// pas compris toute la partie
       private Long id; // pas compris private et long
 
+      @NaturalId(mutable = true) // l'email peut être modifié (PATCH /api/users/{id})
       @Column(unique = true, nullable = false) // déclare une colonne/champ et annonce que ça sera impossible d'etre null et que la donnée est unique donc aucun autre user ne peux avoir le meme email
       @Email(message = "Email invalide")
       @NotBlank(message = "L'email est obligatoire")
@@ -31,6 +40,11 @@ public class User {
       @NotBlank(message = "Le rôle est obligatoire")
       private String role;
 
+      // Incrémenté à chaque changement d'email, de mot de passe ou de rôle : révoque les JWT émis avant
+      @ColumnDefault("0")
+      @Column(nullable = false)
+      private int tokenVersion;
+
       @CreationTimestamp
       @Column(updatable = false)
       private LocalDateTime createdAt;
@@ -54,6 +68,10 @@ public class User {
 
       public void setRole(String role) { this.role = role; }
 
+      public int getTokenVersion() { return tokenVersion; }
+
+      public void setTokenVersion(int tokenVersion) { this.tokenVersion = tokenVersion; }
+
       public LocalDateTime getCreatedAt() { return createdAt; }
 
       public LocalDateTime getUpdatedAt() { return updatedAt; }
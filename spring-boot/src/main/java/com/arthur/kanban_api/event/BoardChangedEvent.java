@@ -0,0 +1,8 @@
+package com.arthur.kanban_api.event;
+
+/**
+ * Émis quand le tableau d'un utilisateur change sans événement Kanban publié (renumérotation des positions) :
+ * sert uniquement à invalider les caches de lecture
+ */
+public record BoardChangedEvent(Long ownerId) {
+}
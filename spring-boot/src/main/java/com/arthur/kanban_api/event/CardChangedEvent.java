@@ -0,0 +1,49 @@
+package com.arthur.kanban_api.event;
+
+import com.arthur.kanban_api.entity.Card;
+
+/**
+ * Événement de domaine émis par CardService dans la transaction de la modification ; {@code ownerId} est le
+ * propriétaire de la carte, celui de sa liste est résolu avant le commit ({@code ListOwnerResolver})
+ */
+public record CardChangedEvent(
+        Type type,
+        Long cardId,
+        String title,
+        Long listId,
+        Long previousListId,
+        Integer position,
+        Long ownerId
+) {
+
+    public enum Type {
+        CREATED("CardCreated", "created"),
+        UPDATED("CardUpdated", "updated"),
+        MOVED("CardMoved", "moved"),
+        DELETED("CardDeleted", "deleted");
+
+        private final String eventType;
+        private final String action;
+
+        Type(String eventType, String action) {
+            this.eventType = eventType;
+            this.action = action;
+        }
+
+        public String eventType() { return eventType; }
+
+        public String action() { return action; }
+    }
+
+    public static CardChangedEvent of(Type type, Card card, Long previousListId) {
+        return new CardChangedEvent(
+                type,
+                card.getId(),
+                card.getTitle(),
+                card.getList().getId(),
+                previousListId,
+                card.getPosition(),
+                card.getOwner().getId()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.arthur.kanban_api.event;
+
+/**
+ * Émis par CardService quand les écarts entre positions d'une liste deviennent trop faibles :
+ * la liste est renumérotée en arrière-plan après le commit
+ */
+public record CardRanksCrowdedEvent(Long listId) {
+}
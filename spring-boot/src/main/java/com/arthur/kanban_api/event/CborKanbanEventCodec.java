@@ -0,0 +1,104 @@
+package com.arthur.kanban_api.event;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Version "2.0" : tableau CBOR positionnel, sans noms de champs ni indices @class,
+ * UUID sur 16 octets et horodatage en millisecondes epoch (la précision sub-milliseconde est perdue)
+ */
+public class CborKanbanEventCodec implements KanbanEventCodec {
+
+    public static final String VERSION = "2.0";
+    private static final int WIRE_VERSION = 2;
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"version", "eventId", "timestamp", "eventType", "source", "data", "metadata"})
+    record CompactEvent(
+            int version,
+            byte[] eventId,
+            long timestamp,
+            String eventType,
+            String source,
+            Map<String, Object> data,
+            Map<String, Object> metadata
+    ) {}
+
+    private final CBORMapper mapper = new CBORMapper();
+
+    private final JsonKanbanEventCodec json;
+
+    public CborKanbanEventCodec() {
+        this.json = new JsonKanbanEventCodec(this);
+    }
+
+    @Override
+    public byte[] encode(KanbanEvent event) {
+        CompactEvent compact = new CompactEvent(
+                WIRE_VERSION,
+                encodeEventId(event.getEventId()),
+                Instant.parse(event.getTimestamp()).toEpochMilli(),
+                event.getEventType(),
+                event.getSource(),
+                event.getData(),
+                event.getMetadata()
+        );
+        try {
+            return mapper.writeValueAsBytes(compact);
+        } catch (IOException e) {
+            throw new SerializationException("Encodage CBOR impossible", e);
+        }
+    }
+
+    @Override
+    public KanbanEvent decode(byte[] payload) {
+        if (KanbanEventCodec.isJson(payload)) {
+            return json.decode(payload);
+        }
+        CompactEvent compact;
+        try {
+            compact = mapper.readValue(payload, CompactEvent.class);
+        } catch (IOException e) {
+            throw new SerializationException("Événement CBOR illisible", e);
+        }
+        if (compact.version() != WIRE_VERSION) {
+            throw new SerializationException("Version d'événement non supportée: " + compact.version());
+        }
+        KanbanEvent event = new KanbanEvent(compact.eventType(), compact.data(), compact.metadata());
+        event.setEventId(decodeEventId(compact.eventId()));
+        event.setTimestamp(Instant.ofEpochMilli(compact.timestamp()).toString());
+        event.setSource(compact.source());
+        event.setVersion(VERSION);
+        return event;
+    }
+
+    // UUID → 16 octets ; un identifiant non UUID est conservé tel quel en UTF-8
+    private static byte[] encodeEventId(String eventId) {
+        try {
+            UUID uuid = UUID.fromString(eventId);
+            return ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        } catch (IllegalArgumentException notUuid) {
+            return eventId.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String decodeEventId(byte[] bytes) {
+        if (bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.arthur.kanban_api.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/**
+ * Version "1.0" : JSON identique au format historique (GenericJackson2JsonRedisSerializer, indices @class)
+ */
+public class JsonKanbanEventCodec implements KanbanEventCodec {
+
+    private final GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+
+    // Lecture tolérante des messages sans indice de type (ex: publiés par NestJS)
+    private final ObjectMapper lenientMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final CborKanbanEventCodec compact;
+
+    public JsonKanbanEventCodec() {
+        this(new CborKanbanEventCodec());
+    }
+
+    JsonKanbanEventCodec(CborKanbanEventCodec compact) {
+        this.compact = compact;
+    }
+
+    @Override
+    public byte[] encode(KanbanEvent event) {
+        return serializer.serialize(event);
+    }
+
+    @Override
+    public KanbanEvent decode(byte[] payload) {
+        if (!KanbanEventCodec.isJson(payload)) {
+            return compact.decode(payload);
+        }
+        try {
+            return serializer.deserialize(payload, KanbanEvent.class);
+        } catch (SerializationException typed) {
+            try {
+                return lenientMapper.readValue(payload, KanbanEvent.class);
+            } catch (IOException e) {
+                throw new SerializationException("Événement JSON illisible", e);
+            }
+        }
+    }
+}
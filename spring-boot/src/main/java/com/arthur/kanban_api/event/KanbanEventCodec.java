@@ -0,0 +1,19 @@
+package com.arthur.kanban_api.event;
+
+/**
+ * Format binaire des KanbanEvent sur Redis.
+ * <p>
+ * Deux versions coexistent : "1.0" (JSON, format historique lu par NestJS) et "2.0" (CBOR compact).
+ * {@link #decode} accepte les deux quelle que soit l'implémentation : un message JSON commence
+ * toujours par '{', un message compact par un tableau CBOR dont le premier élément est la version.
+ */
+public interface KanbanEventCodec {
+
+    byte[] encode(KanbanEvent event);
+
+    KanbanEvent decode(byte[] payload);
+
+    static boolean isJson(byte[] payload) {
+        return payload.length > 0 && payload[0] == '{';
+    }
+}
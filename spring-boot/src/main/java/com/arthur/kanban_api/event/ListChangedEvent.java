@@ -0,0 +1,43 @@
+package com.arthur.kanban_api.event;
+
+import com.arthur.kanban_api.entity.KanbanList;
+
+/**
+ * Événement de domaine émis par KanbanListService dans la transaction de la modification ;
+ * {@code ownerId} est le propriétaire de la liste, même quand c'est un admin qui la modifie
+ */
+public record ListChangedEvent(
+        Type type,
+        Long listId,
+        String title,
+        Integer position,
+        Long ownerId
+) {
+
+    public enum Type {
+        CREATED("ListCreated", "created"),
+        DELETED("ListDeleted", "deleted");
+
+        private final String eventType;
+        private final String action;
+
+        Type(String eventType, String action) {
+            this.eventType = eventType;
+            this.action = action;
+        }
+
+        public String eventType() { return eventType; }
+
+        public String action() { return action; }
+    }
+
+    public static ListChangedEvent of(Type type, KanbanList list) {
+        return new ListChangedEvent(
+                type,
+                list.getId(),
+                list.getTitle(),
+                list.getPosition(),
+                list.getOwner().getId()
+        );
+    }
+}
@@ -1,13 +1,109 @@
 package com.arthur.kanban_api.repository;
 
+import com.arthur.kanban_api.dto.CardResponse;
+import com.arthur.kanban_api.dto.ExportedCard;
 import com.arthur.kanban_api.entity.Card;
-import com.arthur.kanban_api.entity.KanbanList;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
-    List<Card> findByListOrderByPositionAsc(KanbanList list);
-}
+    String CARD_RESPONSE = "select new com.arthur.kanban_api.dto.CardResponse(" +
+            "c.id, c.title, c.description, c.position, c.list.id, c.owner.id, c.createdAt, c.updatedAt, c.version) from Card c ";
+
+    @Query(CARD_RESPONSE + "where c.id = :id")
+    Optional<CardResponse> findResponseById(@Param("id") Long id);
+
+    /**
+     * Carte de l'utilisateur : le contrôle de propriété est fait par la requête (where id = ? and owner_id = ?)
+     */
+    Optional<Card> findByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Suppression en une requête de toutes les cartes d'une liste, sans les charger
+     */
+    @Modifying
+    @Query("delete from Card c where c.list.id = :listId")
+    int deleteByListId(@Param("listId") Long listId);
+
+    /**
+     * Cartes de toutes les listes d'un utilisateur, dans l'ordre du tableau
+     */
+    @Query(CARD_RESPONSE + "join c.list l where l.owner.id = :ownerId " +
+            "order by l.position asc, l.id asc, c.position asc, c.id asc")
+    List<CardResponse> findBoardCards(@Param("ownerId") Long ownerId);
+
+    /**
+     * Première page d'une liste, projetée directement en DTO (index list_id, position, id)
+     */
+    @Query(CARD_RESPONSE + "where c.list.id = :listId order by c.position asc, c.id asc")
+    List<CardResponse> findPage(@Param("listId") Long listId, Limit limit);
 
+    /**
+     * Page suivant la clé (position, id) : parcours d'index à partir du curseur, quel que soit le rang de la page
+     */
+    @Query(CARD_RESPONSE + "where c.list.id = :listId and (c.position, c.id) > (:position, :id) " +
+            "order by c.position asc, c.id asc")
+    List<CardResponse> findPageAfter(@Param("listId") Long listId,
+                                     @Param("position") int position,
+                                     @Param("id") long id,
+                                     Limit limit);
 
+    List<Card> findByListIdOrderByPositionAscIdAsc(Long listId);
+
+    /**
+     * Plus grande position de la liste (null si elle est vide)
+     */
+    @Query("select max(c.position) from Card c where c.list.id = :listId")
+    Integer findMaxPosition(@Param("listId") Long listId);
+
+    /**
+     * Plus grande position de la liste, hors carte déplacée (null si aucune autre carte)
+     */
+    @Query("select max(c.position) from Card c where c.list.id = :listId and c.id <> :excludedId")
+    Integer findMaxPosition(@Param("listId") Long listId, @Param("excludedId") Long excludedId);
+
+    /**
+     * Carte qui suit immédiatement la clé (position, id) dans la liste, hors carte déplacée
+     */
+    @Query("select c from Card c where c.list.id = :listId and c.id <> :excludedId " +
+            "and (c.position, c.id) > (:position, :id) order by c.position asc, c.id asc")
+    List<Card> findNext(@Param("listId") Long listId,
+                        @Param("excludedId") Long excludedId,
+                        @Param("position") int position,
+                        @Param("id") long id,
+                        Limit limit);
+
+    /**
+     * Carte qui précède immédiatement la clé (position, id) dans la liste, hors carte déplacée
+     */
+    @Query("select c from Card c where c.list.id = :listId and c.id <> :excludedId " +
+            "and (c.position, c.id) < (:position, :id) order by c.position desc, c.id desc")
+    List<Card> findPrevious(@Param("listId") Long listId,
+                            @Param("excludedId") Long excludedId,
+                            @Param("position") int position,
+                            @Param("id") long id,
+                            Limit limit);
+
+    /**
+     * Cartes d'un utilisateur pour l'export, lues au fil d'un curseur (fetch size) sans entité gérée :
+     * à consommer dans une transaction, puis fermer le stream
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.arthur.kanban_api.dto.ExportedCard(c.id, l.id, c.title, c.description, c.position) " +
+            "from Card c join c.list l where l.owner.id = :ownerId " +
+            "order by l.position asc, l.id asc, c.position asc, c.id asc")
+    Stream<ExportedCard> streamForExport(@Param("ownerId") Long ownerId);
+}
@@ -1,9 +1,62 @@
 package com.arthur.kanban_api.repository;
 
+import com.arthur.kanban_api.dto.ExportedList;
+import com.arthur.kanban_api.dto.ListResponse;
 import com.arthur.kanban_api.entity.KanbanList;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface KanbanListRepository extends JpaRepository<KanbanList, Long> {
-}
 
+    /**
+     * Listes d'un utilisateur projetées en DTO, dans l'ordre du tableau
+     */
+    @Query("select new com.arthur.kanban_api.dto.ListResponse(l.id, l.title, l.position, l.owner.id, l.createdAt, l.updatedAt, l.version) " +
+            "from KanbanList l where l.owner.id = :ownerId order by l.position asc, l.id asc")
+    List<ListResponse> findResponsesByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Liste de l'utilisateur : le contrôle de propriété est fait par la requête (where id = ? and owner_id = ?)
+     */
+    Optional<KanbanList> findByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Vérifie la propriété d'une liste sans la charger (select ... limit 1)
+     */
+    boolean existsByIdAndOwnerId(Long id, Long ownerId);
 
+    /**
+     * Verrou exclusif sur la liste (SELECT ... FOR UPDATE), pour sérialiser les renumérotations de ses cartes
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from KanbanList l where l.id = :id")
+    Optional<KanbanList> lockById(@Param("id") Long id);
+
+    /**
+     * Suppression conditionnelle à la version lue (la suppression en masse ignore {@code @Version}) :
+     * 0 si la liste a été modifiée ou supprimée entre-temps
+     */
+    @Modifying
+    @Query("delete from KanbanList l where l.id = :id and l.version = :version")
+    int deleteByIdAndVersion(@Param("id") Long id, @Param("version") Long version);
+
+    @Query("select new com.arthur.kanban_api.repository.ListOwner(l.id, l.owner.id) from KanbanList l where l.id in :ids")
+    List<ListOwner> findOwners(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.arthur.kanban_api.dto.ExportedList(l.id, l.title, l.position) " +
+            "from KanbanList l where l.owner.id = :ownerId order by l.position asc, l.id asc")
+    Stream<ExportedList> streamForExport(@Param("ownerId") Long ownerId);
+}
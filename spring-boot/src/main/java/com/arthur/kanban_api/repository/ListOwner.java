@@ -0,0 +1,7 @@
+package com.arthur.kanban_api.repository;
+
+/**
+ * Projection (liste, propriétaire) pour vérifier les droits sur plusieurs listes en une requête
+ */
+public record ListOwner(Long listId, Long ownerId) {
+}
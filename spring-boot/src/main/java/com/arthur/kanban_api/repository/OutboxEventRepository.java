@@ -0,0 +1,17 @@
+package com.arthur.kanban_api.repository;
+
+import com.arthur.kanban_api.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Verrouille le prochain lot d'événements ; les lignes déjà verrouillées par un autre relais sont sautées
+     */
+    @Query(value = "select * from outbox_events order by id limit :limit for update skip locked", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
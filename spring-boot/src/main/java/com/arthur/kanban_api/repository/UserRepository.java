@@ -1,11 +1,23 @@
 package com.arthur.kanban_api.repository;
 
+import com.arthur.kanban_api.dto.UserResponse;
 import com.arthur.kanban_api.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     boolean existsByEmail(String email);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    /**
+     * Profil public projeté en DTO : ni entité gérée ni hash du mot de passe chargés
+     */
+    @Query("select new com.arthur.kanban_api.dto.UserResponse(u.id, u.email, u.role, u.createdAt, u.updatedAt) " +
+            "from User u where u.id = :id")
+    Optional<UserResponse> findResponseById(@Param("id") Long id);
 }
\ No newline at end of file
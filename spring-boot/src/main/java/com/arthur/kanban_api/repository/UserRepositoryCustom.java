@@ -0,0 +1,14 @@
+package com.arthur.kanban_api.repository;
+
+import com.arthur.kanban_api.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Recherche par email, identifiant naturel de {@link User} : servie par le cache de second niveau
+     * (résolution email → id, puis entité) sans requête quand l'utilisateur y est déjà
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,101 @@
+package com.arthur.kanban_api.security;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jetons d'accès révoqués avant leur échéance (déconnexion), par identifiant (jti).
+ * <p>
+ * La source de vérité est un ensemble trié Redis (score : échéance du jeton). Chaque nœud en garde
+ * un filtre de Bloom local, reconstruit toutes les {@code app.security.denylist.refresh-interval-ms} :
+ * un jeton absent du filtre, le cas courant, est accepté sans aller-retour réseau ; seul un résultat
+ * positif (révoqué ou faux positif) est confirmé dans Redis. Une révocation faite sur un autre nœud
+ * y est vue au plus tard à la reconstruction suivante.
+ */
+@Component
+public class AccessTokenDenylist {
+
+    static final String KEY = "auth:denied-access-tokens";
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenDenylist.class);
+
+    private final StringRedisTemplate redis;
+    private final int expectedSize;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // Révocations faites sur ce nœud, rajoutées à chaque reconstruction tant que Redis ne les a pas renvoyées
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+
+    public AccessTokenDenylist(StringRedisTemplate redis,
+                               @Value("${app.security.denylist.expected-size:100000}") int expectedSize,
+                               @Value("${app.security.denylist.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.redis = redis;
+        this.expectedSize = expectedSize;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedSize, falsePositiveRate);
+    }
+
+    /**
+     * Révoque le jeton jusqu'à son échéance ; sans jti (jeton antérieur) seule la version de jeton le révoque
+     */
+    public void revoke(Claims claims) {
+        String tokenId = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (tokenId == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        redis.opsForZSet().add(KEY, tokenId, expiration.getTime());
+        pending.put(tokenId, expiration.getTime());
+        // Le filtre a pu être remplacé pendant l'ajout : on recommence sur le nouveau
+        BloomFilter current;
+        do {
+            current = filter;
+            current.add(tokenId);
+        } while (current != filter);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            return redis.opsForZSet().score(KEY, tokenId) != null;
+        } catch (DataAccessException e) {
+            // Redis indisponible : un jeton signalé par le filtre est refusé plutôt qu'accepté à tort
+            logger.warn("Access token denylist unavailable, rejecting flagged token: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.denylist.refresh-interval-ms:5000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Set<String> revoked;
+        try {
+            redis.opsForZSet().removeRangeByScore(KEY, Double.NEGATIVE_INFINITY, now);
+            revoked = redis.opsForZSet().rangeByScore(KEY, now, Double.POSITIVE_INFINITY);
+        } catch (DataAccessException e) {
+            logger.warn("Could not refresh access token denylist: {}", e.getMessage());
+            return;
+        }
+        Set<String> ids = revoked != null ? revoked : Set.of();
+        BloomFilter next = new BloomFilter(Math.max(expectedSize, ids.size()), falsePositiveRate);
+        ids.forEach(next::add);
+        pending.entrySet().removeIf(entry -> ids.contains(entry.getKey()) || entry.getValue() <= now);
+        pending.keySet().forEach(next::add);
+        filter = next;
+    }
+}
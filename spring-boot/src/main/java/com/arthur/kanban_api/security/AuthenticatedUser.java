@@ -0,0 +1,65 @@
+package com.arthur.kanban_api.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal résolu une seule fois par requête (filtre JWT) et injecté dans les contrôleurs
+ * via {@code @AuthenticationPrincipal}, pour éviter de relire l'utilisateur en base.
+ * <p>
+ * N'implémente volontairement pas {@code CredentialsContainer} : l'instance est partagée par le cache
+ * de {@link CustomUserDetailsService} et ne doit pas voir son mot de passe effacé après un login.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final String role;
+    private final int tokenVersion;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String password, String role, int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.authorities = List.of(new SimpleGrantedAuthority(role));
+    }
+
+    public Long getId() { return id; }
+
+    public String getEmail() { return email; }
+
+    public String getRole() { return role; }
+
+    public int getTokenVersion() { return tokenVersion; }
+
+    public boolean isAdmin() { return "ROLE_ADMIN".equals(role); }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+}
@@ -0,0 +1,43 @@
+package com.arthur.kanban_api.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Chargement des caches Caffeine qui interrogent la base.
+ * <p>
+ * {@code Cache.get(key, loader)} exécute le loader sous le verrou (synchronized) du ConcurrentHashMap :
+ * un appel JDBC à cet endroit épingle le thread virtuel sur son carrier. En mode threads virtuels
+ * ({@code spring.threads.virtual.enabled}), seule la création du future se fait sous verrou ; la requête
+ * tourne sur un thread virtuel dédié et les appels concurrents pour la même clé attendent le même future.
+ * Sinon, le loader s'exécute directement sur le thread appelant, comme un cache synchrone.
+ */
+@Component
+final class CacheLoading {
+
+    private final TaskExecutor loader;
+
+    CacheLoading(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.loader = virtualThreads ? new VirtualThreadTaskExecutor("cache-loader-") : new SyncTaskExecutor();
+    }
+
+    <K, V> V get(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> CompletableFuture.supplyAsync(() -> loader.apply(k), this.loader));
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
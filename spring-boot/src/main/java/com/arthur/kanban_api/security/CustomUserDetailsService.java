@@ -2,32 +2,73 @@ package com.arthur.kanban_api.security;
 
 import com.arthur.kanban_api.entity.User;
 import com.arthur.kanban_api.repository.UserRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collection;
-import java.util.List;
+import java.time.Duration;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final CacheLoading cacheLoading;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Cache borné (taille + TTL) des principaux par email : évite une requête `users` à chaque appel authentifié
+    private final AsyncCache<String, AuthenticatedUser> cache;
+
+    public CustomUserDetailsService(
+            UserRepository userRepository,
+            CacheLoading cacheLoading,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:60s}") Duration ttl
+    ) {
         this.userRepository = userRepository;
+        this.cacheLoading = cacheLoading;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
+        return cacheLoading.get(cache, username, this::loadFromDatabase);
+    }
+
+    /**
+     * Re-hachage transparent à la connexion (coût BCrypt relevé) : même mot de passe, donc sans changer
+     * la version de jeton ni révoquer les sessions en cours
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails details, String newPassword) {
+        User user = userRepository.findByEmail(details.getUsername())
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
-        Collection<? extends GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(user.getRole()));
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), authorities);
+        user.setPassword(newPassword);
+        User saved = userRepository.save(user);
+        evict(saved.getEmail());
+        return new AuthenticatedUser(saved.getId(), saved.getEmail(), saved.getPassword(), saved.getRole(), saved.getTokenVersion());
     }
-}
 
+    /**
+     * À appeler dès que l'email, le mot de passe ou le rôle d'un utilisateur change
+     */
+    public void evict(String email) {
+        if (email != null) {
+            cache.synchronous().invalidate(email);
+        }
+    }
 
+    private AuthenticatedUser loadFromDatabase(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getTokenVersion());
+    }
+}
@@ -1,13 +1,16 @@
 package com.arthur.kanban_api.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -20,10 +23,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersions;
+    private final AccessTokenDenylist denylist;
+    // Durée de la vérification du jeton, puis de la résolution du principal (claims ou chargement de l'utilisateur)
+    private final Timer parseTimer;
+    private final Timer userLoadTimer;
+    // Mode sans état : l'authentification est construite depuis les claims, sans charger l'utilisateur
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserDetailsService userDetailsService,
+                                   TokenVersionRegistry tokenVersions,
+                                   AccessTokenDenylist denylist,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.security.jwt.stateless:false}") boolean stateless) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.tokenVersions = tokenVersions;
+        this.denylist = denylist;
+        this.parseTimer = jwtTimer(meterRegistry, "parse");
+        this.userLoadTimer = jwtTimer(meterRegistry, "user_load");
+        this.stateless = stateless;
     }
 
     @Override
@@ -33,13 +53,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                String subject = jwtService.extractSubject(token);
-                if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(subject);
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                Claims claims = parseTimer.recordCallable(() -> jwtService.parseClaims(token));
+                if (claims.getSubject() != null && !jwtService.isRefreshToken(claims)
+                        && SecurityContextHolder.getContext().getAuthentication() == null
+                        && !denylist.isRevoked(claims)) {
+                    AuthenticatedUser principal = userLoadTimer.record(() -> resolvePrincipal(claims));
+                    if (principal != null) {
+                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                principal, null, principal.getAuthorities());
+                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    }
                 }
             } catch (Exception ignored) {
                 // Token invalide/expiré: on ignore et on laisse la requête continuer sans authentification
@@ -47,6 +71,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private static Timer jwtTimer(MeterRegistry registry, String phase) {
+        return Timer.builder("kanban.auth.jwt")
+                .description("Authentification JWT par phase")
+                .tag("phase", phase)
+                .register(registry);
+    }
 
+    /**
+     * Retourne null si le jeton a été révoqué (version périmée)
+     */
+    private AuthenticatedUser resolvePrincipal(Claims claims) {
+        int tokenVersion = jwtService.extractTokenVersion(claims);
+        if (stateless) {
+            AuthenticatedUser principal = jwtService.toPrincipal(claims);
+            if (principal != null) {
+                return tokenVersions.isCurrent(principal.getId(), tokenVersion) ? principal : null;
+            }
+            // Jeton émis avant l'ajout des claims : repli sur le chargement de l'utilisateur
+        }
+        AuthenticatedUser principal = (AuthenticatedUser) userDetailsService.loadUserByUsername(claims.getSubject());
+        return principal.getTokenVersion() == tokenVersion ? principal : null;
+    }
+}
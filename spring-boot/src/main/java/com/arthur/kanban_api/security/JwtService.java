@@ -1,5 +1,10 @@
 package com.arthur.kanban_api.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -7,31 +12,77 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+    // Famille de refresh tokens de la session (rotation, révocation à la déconnexion)
+    public static final String CLAIM_FAMILY = "fam";
+    private static final String CLAIM_TYPE = "type";
+
     private final SecretKey signingKey;
     private final long expirationMs;
     private final long refreshExpirationMs;
 
+    // Parser immuable et thread-safe, construit une seule fois
+    private final JwtParser parser;
+
+    // Jetons d'accès déjà vérifiés, indexés par empreinte SHA-256 et expirés à l'échéance du jeton (null si désactivé)
+    private final Cache<String, Claims> verifiedTokens;
+
     public JwtService(
             @Value("${app.security.jwt.secret}") String secret,
             @Value("${app.security.jwt.expiration}") long expirationMs,
-            @Value("${app.security.jwt.refresh.expiration}") long refreshExpirationMs
+            @Value("${app.security.jwt.refresh.expiration}") long refreshExpirationMs,
+            @Value("${app.security.jwt.verified-cache.max-size:10000}") long verifiedCacheSize
     ) {
         this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.expirationMs = expirationMs;
         this.refreshExpirationMs = refreshExpirationMs;
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = verifiedCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedCacheSize)
+                        .expireAfter(new ExpireAtTokenExpiry())
+                        .build()
+                : null;
+    }
+
+    /**
+     * Jeton d'accès portant l'id, le rôle et la version de jeton de l'utilisateur,
+     * ce qui permet au filtre de construire l'authentification sans requête en base
+     */
+    public String generateToken(AuthenticatedUser user) {
+        return generateToken(user, null);
     }
 
-    public String generateToken(String subject) {
+    /**
+     * Jeton d'accès rattaché à une famille de refresh tokens (null : aucune), avec un identifiant unique (jti)
+     * pour la liste de révocation
+     */
+    public String generateToken(AuthenticatedUser user, String familyId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
-                .subject(subject)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .claim(CLAIM_FAMILY, familyId)
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(signingKey, SignatureAlgorithm.HS256)
@@ -42,39 +93,128 @@ public class JwtService {
         return getClaim(token, claims -> claims.getSubject());
     }
 
-    public String generateRefreshToken(String subject) {
+    /**
+     * Refresh token de la famille {@code familyId}, identifié par {@code tokenId} dans le magasin Redis
+     */
+    public String generateRefreshToken(AuthenticatedUser user, String familyId, String tokenId) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + refreshExpirationMs);
         return Jwts.builder()
-                .subject(subject)
+                .id(tokenId)
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
+                .claim(CLAIM_FAMILY, familyId)
                 .issuedAt(now)
                 .expiration(expiry)
-                .claim("type", "refresh")
+                .claim(CLAIM_TYPE, "refresh")
                 .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isRefreshToken(String token) {
         try {
-            io.jsonwebtoken.Claims claims = Jwts.parser()
-                    .verifyWith(signingKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return "refresh".equals(claims.get("type"));
+            return isRefreshToken(parseClaims(token));
         } catch (Exception e) {
             return false;
         }
     }
 
-    public <T> T getClaim(String token, Function<io.jsonwebtoken.Claims, T> resolver) {
-        io.jsonwebtoken.Claims claims = Jwts.parser()
-                .verifyWith(signingKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return resolver.apply(claims);
+    public boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get(CLAIM_TYPE));
     }
-}
 
+    public long getRefreshExpirationMs() {
+        return refreshExpirationMs;
+    }
 
+    /**
+     * Famille de refresh tokens portée par le jeton, null pour un jeton émis avant la rotation
+     */
+    public String extractFamily(Claims claims) {
+        return claims.get(CLAIM_FAMILY) instanceof String family ? family : null;
+    }
+
+    /**
+     * Version de jeton embarquée ; les jetons émis avant son introduction valent 0
+     */
+    public int extractTokenVersion(Claims claims) {
+        Object version = claims.get(CLAIM_TOKEN_VERSION);
+        return version instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * Construit le principal directement depuis les claims vérifiés, ou null si le jeton ne les porte pas
+     */
+    public AuthenticatedUser toPrincipal(Claims claims) {
+        Object userId = claims.get(CLAIM_USER_ID);
+        Object role = claims.get(CLAIM_ROLE);
+        if (!(userId instanceof Number id) || !(role instanceof String roleName)) {
+            return null;
+        }
+        return new AuthenticatedUser(id.longValue(), claims.getSubject(), null, roleName, extractTokenVersion(claims));
+    }
+
+    /**
+     * Vérifie la signature et retourne les claims ; un jeton d'accès déjà vérifié est servi depuis le cache
+     * sans nouveau calcul HMAC ni parsing JSON
+     */
+    public Claims parseClaims(String token) {
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
+        String key = fingerprint(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = verify(token);
+        // Les refresh tokens, rares et à longue durée de vie, ne sont pas mis en cache
+        if (!isRefreshToken(claims) && claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    public <T> T getClaim(String token, Function<Claims, T> resolver) {
+        return resolver.apply(parseClaims(token));
+    }
+
+    private Claims verify(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Empreinte SHA-256 d'un jeton, pour l'indexer sans conserver le jeton lui-même
+     */
+    static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * Une entrée du cache expire exactement à l'échéance (claim exp) du jeton
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMs = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.arthur.kanban_api.security;
+
+/**
+ * Le pool de hachage des mots de passe est saturé : la requête doit être rejouée plus tard (503)
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
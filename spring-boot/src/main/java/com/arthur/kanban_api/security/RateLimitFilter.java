@@ -0,0 +1,86 @@
+package com.arthur.kanban_api.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Limitation de débit, placée juste après {@link JwtAuthenticationFilter} :
+ * <ul>
+ *   <li>connexion, inscription et rafraîchissement de jeton : par adresse IP ;</li>
+ *   <li>écritures sur l'API (POST, PUT, PATCH, DELETE) : par utilisateur authentifié, sinon par IP.</li>
+ * </ul>
+ * Une requête refusée reçoit 429 avec {@code Retry-After} (secondes) sans atteindre le contrôleur ni la base.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> AUTH_PATHS = Set.of("/api/auth/login", "/api/auth/register", "/api/auth/refresh");
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final RateLimiter limiter;
+    private final boolean enabled;
+    private final RateLimiter.Policy authPolicy;
+    private final RateLimiter.Policy writePolicy;
+
+    public RateLimitFilter(RateLimiter limiter,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${app.rate-limit.auth.refill-per-minute:20}") int authRefill,
+                           @Value("${app.rate-limit.write.capacity:60}") int writeCapacity,
+                           @Value("${app.rate-limit.write.refill-per-minute:300}") int writeRefill) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.authPolicy = new RateLimiter.Policy("auth", authCapacity, authRefill);
+        this.writePolicy = new RateLimiter.Policy("write", writeCapacity, writeRefill);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !WRITE_METHODS.contains(request.getMethod()) || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+        RateLimiter.Decision decision;
+        if (AUTH_PATHS.contains(path)) {
+            decision = limiter.tryAcquire(authPolicy, "ip:" + request.getRemoteAddr());
+        } else if (!path.startsWith("/api/auth/")) {
+            decision = limiter.tryAcquire(writePolicy, subject(request));
+        } else {
+            decision = RateLimiter.Decision.ALLOWED;
+        }
+
+        if (!decision.allowed()) {
+            long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"error\":\"Trop de requêtes, réessayez dans " + retryAfterSeconds + " s\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String subject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,199 @@
+package com.arthur.kanban_api.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Seaux à jetons distribués : la capacité et le débit de chaque politique sont globaux (Redis), mais chaque nœud
+ * réserve les jetons par lots ({@code capacity / 10}) via un script Lua atomique et les consomme localement.
+ * <p>
+ * Une requête autorisée ne coûte donc qu'une décrémentation sous verrou du seau local ; Redis n'est appelé
+ * qu'une fois par lot, ou après l'attente indiquée lors d'un refus, toujours hors verrou et par une seule requête
+ * à la fois pour une clé donnée : les autres attendent son résultat. Si Redis ne répond pas, chaque nœud
+ * applique la politique seul pendant {@code app.rate-limit.redis-retry-ms}.
+ */
+@Component
+public class RateLimiter {
+
+    public record Policy(String name, int capacity, int refillPerMinute) {
+
+        double tokensPerMilli() {
+            return refillPerMinute / 60_000.0;
+        }
+
+        int leaseSize() {
+            return Math.max(1, capacity / 10);
+        }
+    }
+
+    /**
+     * Décision pour une requête : autorisée, ou refusée avec le délai avant le prochain jeton
+     */
+    public record Decision(boolean allowed, long retryAfterMillis) {
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    // Recharge le seau (horloge Redis), réserve jusqu'à ARGV[3] jetons ; renvoie {jetons accordés, attente en ms}
+    private static final RedisScript<List> LEASE = new DefaultRedisScript<>("""
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate)
+            local granted = math.min(requested, math.floor(tokens))
+            tokens = tokens - granted
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate))
+            local wait = 0
+            if granted == 0 then
+                wait = math.ceil((1 - tokens) / rate)
+            end
+            return {granted, wait}
+            """, List.class);
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final class LocalBucket {
+        // ReentrantLock plutôt que synchronized : ne bloque pas le thread porteur d'un thread virtuel
+        private final ReentrantLock lock = new ReentrantLock();
+        // Réservation Redis en cours pour ce seau (null : aucune)
+        private CompletableFuture<long[]> inFlight;
+        // Jetons réservés dans Redis et pas encore consommés
+        private int leased;
+        // Refus connu jusqu'à cette échéance : pas de nouvel appel à Redis avant
+        private long blockedUntil;
+        // Seau propre au nœud, utilisé quand Redis est indisponible
+        private double fallbackTokens = -1;
+        private long fallbackUpdatedAt;
+    }
+
+    private final StringRedisTemplate redis;
+    private final long redisRetryMillis;
+    private final Cache<String, LocalBucket> buckets;
+    private volatile long redisDownUntil;
+
+    public RateLimiter(StringRedisTemplate redis,
+                       @Value("${app.rate-limit.redis-retry-ms:5000}") long redisRetryMillis,
+                       @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        this.redis = redis;
+        this.redisRetryMillis = redisRetryMillis;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(5))
+                .build();
+    }
+
+    public Decision tryAcquire(Policy policy, String subject) {
+        String key = "rate:" + policy.name() + ":" + subject;
+        LocalBucket bucket = buckets.get(key, k -> new LocalBucket());
+        while (true) {
+            CompletableFuture<long[]> pending;
+            long now;
+            bucket.lock.lock();
+            try {
+                if (bucket.leased > 0) {
+                    bucket.leased--;
+                    return Decision.ALLOWED;
+                }
+                now = System.currentTimeMillis();
+                if (now < bucket.blockedUntil) {
+                    return new Decision(false, bucket.blockedUntil - now);
+                }
+                if (now < redisDownUntil) {
+                    return acquireLocally(bucket, policy, now);
+                }
+                pending = bucket.inFlight;
+                if (pending == null) {
+                    bucket.inFlight = new CompletableFuture<>();
+                }
+            } finally {
+                bucket.lock.unlock();
+            }
+            if (pending == null) {
+                return leaseAndMerge(key, bucket, policy, now);
+            }
+            // Une réservation est déjà en cours pour cette clé : attendre son résultat puis réessayer
+            pending.join();
+        }
+    }
+
+    /**
+     * Appel à Redis hors verrou, une seule réservation en vol par clé ; le résultat est fusionné dans le seau
+     * local sous verrou, puis les requêtes en attente sont réveillées
+     */
+    private Decision leaseAndMerge(String key, LocalBucket bucket, Policy policy, long now) {
+        long[] lease = null;
+        CompletableFuture<long[]> inFlight;
+        Decision decision;
+        try {
+            lease = lease(key, policy, policy.leaseSize());
+        } catch (DataAccessException e) {
+            logger.warn("Rate limit store unavailable, applying limits per node for {} ms: {}",
+                    redisRetryMillis, e.getMessage());
+            redisDownUntil = now + redisRetryMillis;
+        } finally {
+            bucket.lock.lock();
+            try {
+                inFlight = bucket.inFlight;
+                bucket.inFlight = null;
+                if (lease == null) {
+                    decision = acquireLocally(bucket, policy, now);
+                } else if (lease[0] > 0) {
+                    bucket.leased += (int) lease[0] - 1;
+                    decision = Decision.ALLOWED;
+                } else {
+                    bucket.blockedUntil = now + lease[1];
+                    decision = new Decision(false, lease[1]);
+                }
+            } finally {
+                bucket.lock.unlock();
+            }
+            inFlight.complete(lease);
+        }
+        return decision;
+    }
+
+    /**
+     * Réserve jusqu'à {@code requested} jetons dans le seau global ; renvoie {accordés, attente en ms}
+     */
+    long[] lease(String key, Policy policy, int requested) {
+        List<?> result = redis.execute(LEASE, List.of(key),
+                String.valueOf(policy.capacity()), String.valueOf(policy.tokensPerMilli()), String.valueOf(requested));
+        if (result == null || result.size() < 2) {
+            return new long[] {requested, 0};
+        }
+        return new long[] {((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue()};
+    }
+
+    private static Decision acquireLocally(LocalBucket bucket, Policy policy, long now) {
+        if (bucket.fallbackTokens < 0) {
+            bucket.fallbackTokens = policy.capacity();
+            bucket.fallbackUpdatedAt = now;
+        }
+        bucket.fallbackTokens = Math.min(policy.capacity(),
+                bucket.fallbackTokens + (now - bucket.fallbackUpdatedAt) * policy.tokensPerMilli());
+        bucket.fallbackUpdatedAt = now;
+        if (bucket.fallbackTokens >= 1) {
+            bucket.fallbackTokens -= 1;
+            return Decision.ALLOWED;
+        }
+        return new Decision(false, (long) Math.ceil((1 - bucket.fallbackTokens) / policy.tokensPerMilli()));
+    }
+}
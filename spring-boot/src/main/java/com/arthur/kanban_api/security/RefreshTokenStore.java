@@ -0,0 +1,130 @@
+package com.arthur.kanban_api.security;
+
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens à usage unique, regroupés par famille (une famille par connexion).
+ * <p>
+ * Redis garde {@code auth:refresh:<jti>} → famille pour chaque refresh token valide, et
+ * {@code auth:refresh-family:<famille>} → id utilisateur tant que la session est ouverte, avec pour TTL
+ * la durée de vie d'un refresh token. Chaque rafraîchissement consomme le jeton présenté (GETDEL) et en émet
+ * un nouveau dans la même famille ; un jeton déjà consommé présenté à nouveau signale un vol : toute la famille
+ * est révoquée. Se déconnecter révoque la famille en une suppression de clé.
+ * <p>
+ * Un jeton émis avant la rotation (sans jti ni famille) n'est accepté qu'une fois : son empreinte est posée
+ * en {@code auth:refresh-legacy:<sha256>} (SET NX) jusqu'à l'échéance du jeton.
+ */
+@Component
+public class RefreshTokenStore {
+
+    public record TokenPair(String token, String refreshToken) {}
+
+    private static final String TOKEN_PREFIX = "auth:refresh:";
+    private static final String FAMILY_PREFIX = "auth:refresh-family:";
+    private static final String LEGACY_PREFIX = "auth:refresh-legacy:";
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenStore.class);
+
+    private final StringRedisTemplate redis;
+    private final JwtService jwtService;
+    private final Duration ttl;
+
+    public RefreshTokenStore(StringRedisTemplate redis, JwtService jwtService) {
+        this.redis = redis;
+        this.jwtService = jwtService;
+        this.ttl = Duration.ofMillis(jwtService.getRefreshExpirationMs());
+    }
+
+    /**
+     * Ouvre une nouvelle famille (connexion) et émet sa première paire de jetons
+     */
+    public TokenPair issue(AuthenticatedUser user) {
+        return issueInFamily(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consomme le refresh token et émet la paire suivante de sa famille ; vide si le jeton a déjà servi
+     * (famille alors révoquée) ou si la famille est fermée
+     */
+    public Optional<TokenPair> rotate(String refreshToken, Claims refreshClaims, AuthenticatedUser user) {
+        String tokenId = refreshClaims.getId();
+        String familyId = jwtService.extractFamily(refreshClaims);
+        if (tokenId == null || familyId == null) {
+            return rotateLegacy(refreshToken, refreshClaims, user);
+        }
+        String consumedFamily = consume(TOKEN_PREFIX + tokenId);
+        if (consumedFamily == null) {
+            logger.warn("Refresh token reuse detected for user {}, revoking family {}", user.getId(), familyId);
+            revokeFamily(familyId);
+            return Optional.empty();
+        }
+        if (!exists(FAMILY_PREFIX + familyId)) {
+            return Optional.empty();
+        }
+        return Optional.of(issueInFamily(user, familyId));
+    }
+
+    public void revokeFamily(String familyId) {
+        if (familyId != null) {
+            delete(FAMILY_PREFIX + familyId);
+        }
+    }
+
+    /**
+     * Jeton émis avant la rotation : il ouvre une famille une seule fois, son empreinte étant marquée comme
+     * consommée pour le reste de sa durée de vie
+     */
+    private Optional<TokenPair> rotateLegacy(String refreshToken, Claims refreshClaims, AuthenticatedUser user) {
+        Date expiration = refreshClaims.getExpiration();
+        if (expiration == null) {
+            return Optional.empty();
+        }
+        Duration remaining = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis());
+        if (remaining.isNegative() || remaining.isZero()
+                || !markUsed(LEGACY_PREFIX + JwtService.fingerprint(refreshToken), remaining)) {
+            logger.warn("Legacy refresh token reuse detected for user {}", user.getId());
+            return Optional.empty();
+        }
+        return Optional.of(issue(user));
+    }
+
+    private TokenPair issueInFamily(AuthenticatedUser user, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        store(FAMILY_PREFIX + familyId, String.valueOf(user.getId()), ttl);
+        store(TOKEN_PREFIX + tokenId, familyId, ttl);
+        return new TokenPair(
+                jwtService.generateToken(user, familyId),
+                jwtService.generateRefreshToken(user, familyId, tokenId));
+    }
+
+    // Accès Redis isolés pour les tests
+
+    String consume(String key) {
+        return redis.opsForValue().getAndDelete(key);
+    }
+
+    boolean markUsed(String key, Duration expiry) {
+        return Boolean.TRUE.equals(redis.opsForValue().setIfAbsent(key, "1", expiry));
+    }
+
+    boolean exists(String key) {
+        return Boolean.TRUE.equals(redis.hasKey(key));
+    }
+
+    void store(String key, String value, Duration expiry) {
+        redis.opsForValue().set(key, value, expiry);
+    }
+
+    void delete(String key) {
+        redis.delete(key);
+    }
+}
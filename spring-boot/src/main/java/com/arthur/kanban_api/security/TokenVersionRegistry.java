@@ -0,0 +1,50 @@
+package com.arthur.kanban_api.security;
+
+import com.arthur.kanban_api.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Version de jeton courante par utilisateur, utilisée par le mode JWT sans état pour révoquer
+ * les jetons émis avant un changement d'email, de mot de passe ou de rôle.
+ * <p>
+ * Les versions sont gardées en mémoire : seule une entrée absente ou expirée déclenche une requête
+ * (une colonne, par clé primaire). Le TTL borne le délai de révocation sur les autres nœuds.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final CacheLoading cacheLoading;
+    private final AsyncCache<Long, Integer> versions;
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            CacheLoading cacheLoading,
+            @Value("${app.security.jwt.version-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.jwt.version-cache.ttl:30s}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.cacheLoading = cacheLoading;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = cacheLoading.get(versions, userId, id -> userRepository.findTokenVersionById(id).orElse(null));
+        return current != null && current == tokenVersion;
+    }
+
+    /**
+     * Enregistre la nouvelle version après sa persistance, pour une révocation immédiate sur ce nœud
+     */
+    public void update(Long userId, int tokenVersion) {
+        versions.synchronous().put(userId, tokenVersion);
+    }
+}
@@ -0,0 +1,278 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.event.BoardChangedEvent;
+import com.arthur.kanban_api.event.CardChangedEvent;
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.event.ListChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache de lecture des tableaux ({@code GET /api/boards/me}) : un cache en mémoire court devant un
+ * instantané par utilisateur dans Redis ({@link BoardSnapshotCodec}), puis PostgreSQL en dernier recours.
+ * <p>
+ * Invalidation :
+ * <ul>
+ *   <li>après le commit d'une transaction qui a modifié des listes ou cartes, une seule fois par utilisateur
+ *   touché (une opération groupée de 5 000 cartes ne fait qu'une suppression Redis). Pour une carte, les
+ *   tableaux touchés sont ceux du propriétaire de la carte et des propriétaires de ses listes d'arrivée et de
+ *   départ, résolus avant le commit ({@link ListOwnerResolver}) : un admin peut modifier une carte dans la
+ *   liste d'un autre utilisateur ;</li>
+ *   <li>sur les autres nœuds, à la réception des événements {@code kanban.*} publiés pour ces modifications
+ *   ({@link KanbanEventSubscriber}), routés vers le propriétaire de la liste : seul le cache mémoire est
+ *   concerné, l'instantané Redis est partagé.</li>
+ * </ul>
+ * Une lecture concurrente d'un commit ne peut pas réécrire un instantané périmé : chaque invalidation incrémente
+ * une génération par utilisateur, lue avec l'instantané avant la requête en base, et l'instantané n'est écrit
+ * (script Lua) que si la génération n'a pas bougé entre-temps. Les topics routés vers un stream n'invalident
+ * pas les autres nœuds, dont le cache mémoire expire après {@code app.board-cache.near.ttl}.
+ * Redis indisponible : lecture directe en base.
+ */
+@Service
+public class BoardCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardCache.class);
+    private static final String KEY_PREFIX = "board:";
+
+    // Survit largement à l'instantané : une génération expirée repartirait de zéro
+    private static final Duration GENERATION_TTL = Duration.ofDays(1);
+
+    // KEYS : instantané, génération ; ARGV : génération lue avant la requête en base, instantané, TTL en ms
+    static final byte[] WRITE_IF_CURRENT = """
+            local generation = redis.call('GET', KEYS[2]) or '0'
+            if generation ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    // KEYS : instantané, génération ; ARGV : TTL de la génération en ms
+    static final byte[] EVICT = """
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """.getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Instantané Redis (null si absent) et génération courante de l'utilisateur
+     */
+    private record Snapshot(List<BoardListResponse> board, byte[] generation) {}
+
+    /**
+     * Utilisateurs et listes touchés par la transaction courante ; les propriétaires des listes s'ajoutent
+     * aux utilisateurs avant le commit
+     */
+    private record Touched(Set<Long> owners, Set<Long> listIds) {}
+
+    private final KanbanListService listService;
+    private final ListOwnerResolver listOwners;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final BoardSnapshotCodec codec = new BoardSnapshotCodec();
+    private final Cache<Long, List<BoardListResponse>> nearCache;
+    private final boolean enabled;
+    private final Duration ttl;
+
+    public BoardCache(KanbanListService listService,
+                      ListOwnerResolver listOwners,
+                      RedisTemplate<String, Object> redisTemplate,
+                      KanbanEventSubscriber subscriber,
+                      @Value("${app.board-cache.enabled:true}") boolean enabled,
+                      @Value("${app.board-cache.ttl:5m}") Duration ttl,
+                      @Value("${app.board-cache.near.max-size:10000}") long nearMaxSize,
+                      @Value("${app.board-cache.near.ttl:5s}") Duration nearTtl) {
+        this.listService = listService;
+        this.listOwners = listOwners;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(nearMaxSize)
+                .expireAfterWrite(nearTtl)
+                .build();
+        if (enabled) {
+            subscriber.register(this::onRemoteEvent);
+        }
+    }
+
+    /**
+     * Tableau de l'utilisateur, depuis le cache mémoire, Redis ou la base (et remis en cache)
+     */
+    public List<BoardListResponse> get(Long ownerId) {
+        if (!enabled) {
+            return listService.findBoard(ownerId);
+        }
+        List<BoardListResponse> board = nearCache.getIfPresent(ownerId);
+        if (board != null) {
+            return board;
+        }
+        Snapshot snapshot = readSnapshot(ownerId);
+        if (snapshot != null && snapshot.board() != null) {
+            nearCache.put(ownerId, snapshot.board());
+            return snapshot.board();
+        }
+        board = listService.findBoard(ownerId);
+        // Invalidé pendant la requête : le tableau lu est peut-être déjà périmé, il n'est mis en cache nulle part
+        if (snapshot == null || writeSnapshot(ownerId, board, snapshot.generation())) {
+            nearCache.put(ownerId, board);
+        }
+        return board;
+    }
+
+    @EventListener
+    public void onCardChanged(CardChangedEvent event) {
+        evictAfterCommit(event.ownerId(), event.listId(), event.previousListId());
+    }
+
+    @EventListener
+    public void onListChanged(ListChangedEvent event) {
+        evictAfterCommit(event.ownerId());
+    }
+
+    @EventListener
+    public void onBoardChanged(BoardChangedEvent event) {
+        evictAfterCommit(event.ownerId());
+    }
+
+    /**
+     * Regroupe les utilisateurs et listes touchés par la transaction courante et invalide chaque tableau
+     * une fois, après le commit
+     */
+    private void evictAfterCommit(Long ownerId, Long... listIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Set<Long> owners = new HashSet<>(listOwners.ownersOf(Arrays.asList(listIds)).values());
+            owners.add(ownerId);
+            owners.forEach(this::evict);
+            return;
+        }
+        Touched touched = (Touched) TransactionSynchronizationManager.getResource(this);
+        if (touched == null) {
+            Touched current = new Touched(new HashSet<>(), new HashSet<>());
+            TransactionSynchronizationManager.bindResource(this, current);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    // Une requête pour toutes les listes, encore dans la transaction
+                    current.owners().addAll(listOwners.ownersOf(current.listIds()).values());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(BoardCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        current.owners().forEach(BoardCache.this::evict);
+                    }
+                }
+            });
+            touched = current;
+        }
+        touched.owners().add(ownerId);
+        for (Long listId : listIds) {
+            if (listId != null) {
+                touched.listIds().add(listId);
+            }
+        }
+    }
+
+    void evict(Long ownerId) {
+        nearCache.invalidate(ownerId);
+        try {
+            byte[] generationTtl = String.valueOf(GENERATION_TTL.toMillis()).getBytes(StandardCharsets.UTF_8);
+            eval(EVICT, key(ownerId), generationKey(ownerId), generationTtl);
+        } catch (Exception e) {
+            logger.warn("Could not evict board snapshot of user {}: {}", ownerId, e.getMessage());
+        }
+    }
+
+    private void onRemoteEvent(KanbanEvent event) {
+        Map<String, Object> metadata = event.getMetadata();
+        if (metadata != null && metadata.get("userId") instanceof Number userId) {
+            nearCache.invalidate(userId.longValue());
+        }
+    }
+
+    /**
+     * Instantané et génération en un aller-retour (MGET) ; null si Redis est indisponible
+     */
+    private Snapshot readSnapshot(Long ownerId) {
+        try {
+            List<byte[]> values = mGet(key(ownerId), generationKey(ownerId));
+            if (values == null || values.size() < 2) {
+                return null;
+            }
+            byte[] payload = values.get(0);
+            byte[] generation = values.get(1) != null ? values.get(1) : "0".getBytes(StandardCharsets.UTF_8);
+            return new Snapshot(payload != null ? codec.decode(payload, ownerId) : null, generation);
+        } catch (Exception e) {
+            logger.warn("Could not read board snapshot of user {}: {}", ownerId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Écrit l'instantané si aucune invalidation n'a eu lieu depuis la lecture de {@code generation} ;
+     * faux si elle a eu lieu (erreur Redis : vrai, rien n'indique que le tableau soit périmé)
+     */
+    private boolean writeSnapshot(Long ownerId, List<BoardListResponse> board, byte[] generation) {
+        try {
+            byte[] payload = codec.encode(board);
+            byte[] ttlMillis = String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8);
+            Long written = eval(WRITE_IF_CURRENT, key(ownerId), generationKey(ownerId),
+                    generation, payload, ttlMillis);
+            if (written != null && written == 0) {
+                logger.debug("Board of user {} changed while loading, snapshot not cached", ownerId);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not write board snapshot of user {}: {}", ownerId, e.getMessage());
+            return true;
+        }
+    }
+
+    // Accès Redis isolés pour les tests
+
+    List<byte[]> mGet(byte[]... keys) {
+        return redisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                connection.stringCommands().mGet(keys));
+    }
+
+    /**
+     * Exécute un script sur deux clés (instantané, génération) suivies de ses arguments
+     */
+    Long eval(byte[] script, byte[]... keysAndArgs) {
+        return redisTemplate.execute((RedisCallback<Long>) connection -> connection.scriptingCommands()
+                .eval(script, ReturnType.INTEGER, 2, keysAndArgs));
+    }
+
+    // Étiquette de hachage : instantané et génération dans le même slot pour les scripts
+    private static byte[] key(Long ownerId) {
+        return (KEY_PREFIX + "{" + ownerId + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] generationKey(Long ownerId) {
+        return (KEY_PREFIX + "{" + ownerId + "}:gen").getBytes(StandardCharsets.UTF_8);
+    }
+}
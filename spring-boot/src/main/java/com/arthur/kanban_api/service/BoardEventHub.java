@@ -0,0 +1,335 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion en temps réel (Server-Sent Events) des événements Kanban au tableau de chaque utilisateur connecté.
+ * <p>
+ * Les événements arrivent par l'abonnement {@code kanban.*} partagé du nœud ({@link KanbanEventSubscriber}),
+ * ouvert à la première connexion, et sont routés d'après leur {@code metadata.userId}.
+ * <ul>
+ *   <li>Reprise : les derniers événements sont gardés dans un tampon circulaire ; un client qui se reconnecte
+ *   avec {@code Last-Event-ID} reçoit ceux qui ont suivi, ou un événement {@code resync} s'ils sont sortis
+ *   du tampon (il doit alors recharger le tableau).</li>
+ *   <li>Envoi : chaque connexion a une file bornée, vidée par un pool partagé de
+ *   {@code app.board-stream.sender-threads} threads ; un client n'occupe un thread que lorsque sa file
+ *   n'est pas vide, ce qui permet des milliers de flux ouverts sans un thread par connexion.</li>
+ *   <li>Clients lents : une file pleine, ou un envoi bloqué plus de {@code app.board-stream.send-timeout},
+ *   ferme la connexion plutôt que de ralentir les autres ou de retenir les événements en mémoire.</li>
+ *   <li>Un commentaire de heartbeat part quand rien n'a été envoyé depuis {@code app.board-stream.heartbeat}.</li>
+ * </ul>
+ */
+@Service
+public class BoardEventHub {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardEventHub.class);
+
+    private record BufferedEvent(String id, Long userId, KanbanEvent event) {}
+
+    private final class Client {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BufferedEvent> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Vrai tant qu'une tâche d'envoi est soumise ou en cours : au plus une à la fois par client
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private volatile long lastSentAt = System.nanoTime();
+        // Début de l'envoi en cours (0 : aucun) ; sender est protégé par le verrou du client
+        private volatile long sendingSince;
+        private Thread sender;
+
+        private Client(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(clientBufferSize);
+        }
+    }
+
+    private final KanbanEventSubscriber subscriber;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Duration sendTimeout;
+    private final int replaySize;
+    private final int clientBufferSize;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService ticker;
+    private final AtomicBoolean registered = new AtomicBoolean();
+
+    // Protégés par le verrou de l'instance : un client voit soit un événement rejoué, soit le même en direct
+    private final ArrayDeque<BufferedEvent> replay = new ArrayDeque<>();
+    private final Map<Long, List<Client>> clients = new HashMap<>();
+
+    public BoardEventHub(KanbanEventSubscriber subscriber,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.board-stream.timeout:30m}") Duration timeout,
+                         @Value("${app.board-stream.heartbeat:15s}") Duration heartbeat,
+                         @Value("${app.board-stream.replay-size:1000}") int replaySize,
+                         @Value("${app.board-stream.client-buffer-size:256}") int clientBufferSize,
+                         @Value("${app.board-stream.sender-threads:0}") int senderThreads,
+                         @Value("${app.board-stream.send-timeout:10s}") Duration sendTimeout) {
+        this.subscriber = subscriber;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.sendTimeout = sendTimeout;
+        this.replaySize = replaySize;
+        this.clientBufferSize = clientBufferSize;
+        int threads = senderThreads > 0 ? senderThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicInteger sequence = new AtomicInteger();
+        // File non bornée mais jamais plus d'une tâche par client (Client.scheduled)
+        this.senders = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "board-stream-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "board-stream-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("kanban.sse.connections", this, BoardEventHub::connectedClients)
+                .description("Flux SSE de tableau ouverts sur ce nœud")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ouvre le flux d'un utilisateur, en rejouant ce qui a suivi {@code lastEventId} (null : direct seulement)
+     */
+    public SseEmitter connect(Long userId, String lastEventId) {
+        if (registered.compareAndSet(false, true)) {
+            subscriber.register(this::onEvent);
+            long period = Math.max(10, Math.min(heartbeat.toMillis(), sendTimeout.toMillis()) / 2);
+            ticker.scheduleAtFixedRate(this::tick, period, period, TimeUnit.MILLISECONDS);
+        }
+
+        SseEmitter emitter = createEmitter(timeout);
+        Client client = new Client(userId, emitter);
+        emitter.onCompletion(() -> close(client));
+        emitter.onTimeout(() -> close(client));
+        emitter.onError(e -> close(client));
+
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank() && !enqueueReplay(client, lastEventId)) {
+                client.queue.offer(new BufferedEvent(null, userId, null));
+            }
+            clients.computeIfAbsent(userId, id -> new ArrayList<>()).add(client);
+        }
+        if (!client.queue.isEmpty()) {
+            schedule(client);
+        }
+        return emitter;
+    }
+
+    SseEmitter createEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    /**
+     * Met en file les événements de l'utilisateur postérieurs à {@code lastEventId} ; faux si cet id
+     * n'est plus dans le tampon ou si la file du client ne peut pas tout contenir
+     */
+    private boolean enqueueReplay(Client client, String lastEventId) {
+        Iterator<BufferedEvent> events = replay.iterator();
+        while (events.hasNext()) {
+            if (events.next().id().equals(lastEventId)) {
+                while (events.hasNext()) {
+                    BufferedEvent next = events.next();
+                    if (next.userId().equals(client.userId) && !client.queue.offer(next)) {
+                        client.queue.clear();
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onEvent(KanbanEvent event) {
+        Map<String, Object> metadata = event.getMetadata();
+        if (metadata == null || !(metadata.get("userId") instanceof Number userId)) {
+            return;
+        }
+        BufferedEvent buffered = new BufferedEvent(event.getEventId(), userId.longValue(), event);
+        List<Client> ready = new ArrayList<>();
+        List<Client> overflowed = new ArrayList<>();
+        synchronized (this) {
+            replay.addLast(buffered);
+            if (replay.size() > replaySize) {
+                replay.removeFirst();
+            }
+            for (Client client : clients.getOrDefault(buffered.userId(), List.of())) {
+                (client.queue.offer(buffered) ? ready : overflowed).add(client);
+            }
+        }
+        ready.forEach(this::schedule);
+        for (Client client : overflowed) {
+            logger.info("Closing event stream of user {}: client too slow ({} events pending)",
+                    client.userId, client.queue.size());
+            close(client);
+        }
+    }
+
+    /**
+     * Confie le client au pool d'envoi, sauf si une tâche d'envoi est déjà prévue pour lui
+     */
+    private void schedule(Client client) {
+        if (client.closed.get() || !client.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(client));
+        } catch (RejectedExecutionException e) {
+            close(client);
+        }
+    }
+
+    /**
+     * Vide la file du client (puis le heartbeat dû) et rend le thread au pool
+     */
+    private void drain(Client client) {
+        try {
+            while (!client.closed.get()) {
+                BufferedEvent next = client.queue.poll();
+                if (next != null) {
+                    send(client, next);
+                } else if (client.heartbeatDue) {
+                    client.heartbeatDue = false;
+                    send(client, null);
+                } else {
+                    client.scheduled.set(false);
+                    // Un événement arrivé avant la remise à zéro n'a pas pu reprogrammer le client : on le reprend
+                    boolean idle = client.queue.isEmpty() && !client.heartbeatDue;
+                    if (idle || !client.scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Event stream of user {} closed: {}", client.userId, e.getMessage());
+            close(client);
+        }
+    }
+
+    /**
+     * Envoie un événement, ou un heartbeat ({@code next} null) ; close() peut interrompre l'envoi en cours
+     */
+    private void send(Client client, BufferedEvent next) throws IOException {
+        synchronized (client) {
+            if (client.closed.get()) {
+                return;
+            }
+            client.sender = Thread.currentThread();
+            client.sendingSince = System.nanoTime();
+        }
+        try {
+            if (next == null) {
+                client.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else if (next.event() == null) {
+                client.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(""));
+            } else {
+                client.emitter.send(SseEmitter.event()
+                        .id(next.id())
+                        .name(next.event().getEventType())
+                        .data(next.event(), MediaType.APPLICATION_JSON));
+            }
+            client.lastSentAt = System.nanoTime();
+        } finally {
+            synchronized (client) {
+                client.sender = null;
+                client.sendingSince = 0;
+                // Interruption arrivée après la fin de l'envoi : elle ne doit pas toucher le client suivant du pool
+                Thread.interrupted();
+            }
+        }
+    }
+
+    /**
+     * Heartbeats dus et envois bloqués depuis plus de {@code send-timeout}
+     */
+    private void tick() {
+        List<Client> open;
+        synchronized (this) {
+            open = clients.values().stream().flatMap(List::stream).toList();
+        }
+        long now = System.nanoTime();
+        for (Client client : open) {
+            long sendingSince = client.sendingSince;
+            if (sendingSince != 0 && now - sendingSince > sendTimeout.toNanos()) {
+                logger.info("Closing event stream of user {}: send blocked for more than {}",
+                        client.userId, sendTimeout);
+                close(client);
+            } else if (now - client.lastSentAt >= heartbeat.toNanos()) {
+                client.heartbeatDue = true;
+                schedule(client);
+            }
+        }
+    }
+
+    private void close(Client client) {
+        if (!client.closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (this) {
+            List<Client> userClients = clients.get(client.userId);
+            if (userClients != null) {
+                userClients.remove(client);
+                if (userClients.isEmpty()) {
+                    clients.remove(client.userId);
+                }
+            }
+        }
+        synchronized (client) {
+            if (client.sender != null && client.sender != Thread.currentThread()) {
+                client.sender.interrupt();
+            }
+        }
+        client.emitter.complete();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Nombre de connexions ouvertes sur ce nœud
+     */
+    public synchronized int connectedClients() {
+        return clients.values().stream().mapToInt(List::size).sum();
+    }
+}
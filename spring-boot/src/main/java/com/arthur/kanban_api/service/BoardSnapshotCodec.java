@@ -0,0 +1,94 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.dto.CardResponse;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Encodage d'un tableau pour le cache Redis : tableaux CBOR positionnels, sans noms de champs.
+ * Le propriétaire des listes et la liste de chaque carte sont implicites ; les dates gardent leur précision.
+ */
+final class BoardSnapshotCodec {
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "title", "position", "createdAt", "updatedAt", "version", "cards"})
+    record CachedList(Long id, String title, Integer position, Instant createdAt, Instant updatedAt, Long version,
+                      List<CachedCard> cards) {}
+
+    @JsonFormat(shape = JsonFormat.Shape.ARRAY)
+    @JsonPropertyOrder({"id", "title", "description", "position", "ownerId", "createdAt", "updatedAt", "version"})
+    record CachedCard(Long id, String title, String description, Integer position, Long ownerId,
+                      Instant createdAt, Instant updatedAt, Long version) {}
+
+    private static final TypeReference<List<CachedList>> SNAPSHOT = new TypeReference<>() {};
+
+    private final CBORMapper mapper = CBORMapper.builder().addModule(new JavaTimeModule()).build();
+
+    byte[] encode(List<BoardListResponse> board) {
+        List<CachedList> lists = board.stream()
+                .map(list -> new CachedList(
+                        list.getId(),
+                        list.getTitle(),
+                        list.getPosition(),
+                        list.getCreatedAt(),
+                        list.getUpdatedAt(),
+                        list.getVersion(),
+                        list.getCards().stream()
+                                .map(card -> new CachedCard(
+                                        card.getId(),
+                                        card.getTitle(),
+                                        card.getDescription(),
+                                        card.getPosition(),
+                                        card.getOwnerId(),
+                                        card.getCreatedAt(),
+                                        card.getUpdatedAt(),
+                                        card.getVersion()))
+                                .toList()))
+                .toList();
+        try {
+            return mapper.writeValueAsBytes(lists);
+        } catch (IOException e) {
+            throw new SerializationException("Encodage du tableau impossible", e);
+        }
+    }
+
+    List<BoardListResponse> decode(byte[] payload, Long ownerId) {
+        List<CachedList> lists;
+        try {
+            lists = mapper.readValue(payload, SNAPSHOT);
+        } catch (IOException e) {
+            throw new SerializationException("Tableau en cache illisible", e);
+        }
+        return lists.stream()
+                .map(list -> new BoardListResponse(
+                        list.id(),
+                        list.title(),
+                        list.position(),
+                        ownerId,
+                        list.createdAt(),
+                        list.updatedAt(),
+                        list.version(),
+                        list.cards().stream()
+                                .map(card -> new CardResponse(
+                                        card.id(),
+                                        card.title(),
+                                        card.description(),
+                                        card.position(),
+                                        list.id(),
+                                        card.ownerId(),
+                                        card.createdAt(),
+                                        card.updatedAt(),
+                                        card.version()))
+                                .toList()))
+                .toList();
+    }
+}
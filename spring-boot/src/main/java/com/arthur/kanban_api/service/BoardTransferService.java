@@ -0,0 +1,167 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.BoardExportLine;
+import com.arthur.kanban_api.dto.ExportedCard;
+import com.arthur.kanban_api.dto.ExportedList;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.event.ListChangedEvent;
+import com.arthur.kanban_api.repository.CardRepository;
+import com.arthur.kanban_api.repository.KanbanListRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Export/import NDJSON d'un tableau, en mémoire constante quelle que soit sa taille.
+ * <p>
+ * L'export lit des projections (aucune entité gérée) au fil d'un curseur JDBC et écrit ligne à ligne.
+ * L'import lit ligne à ligne et écrit les cartes par lots (batch JDBC), en vidant le contexte de persistance
+ * après chaque lot. Les ids exportés ne sont pas réutilisés : seules les listes sont renumérotées en mémoire.
+ */
+@Service
+public class BoardTransferService {
+
+    public record ImportResult(int lists, int cards) {}
+
+    static final int IMPORT_BATCH_SIZE = 500;
+
+    private final KanbanListRepository listRepository;
+    private final CardRepository cardRepository;
+    private final UserService userService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectWriter lineWriter;
+    private final ObjectReader lineReader;
+
+    public BoardTransferService(KanbanListRepository listRepository,
+                                CardRepository cardRepository,
+                                UserService userService,
+                                EntityManager entityManager,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper) {
+        this.listRepository = listRepository;
+        this.cardRepository = cardRepository;
+        this.userService = userService;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.lineWriter = objectMapper.writerFor(BoardExportLine.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.lineReader = objectMapper.readerFor(BoardExportLine.class);
+    }
+
+    /**
+     * Écrit les listes puis les cartes de l'utilisateur, une ligne JSON par élément. Ne ferme pas {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public void export(Long ownerId, OutputStream out) throws IOException {
+        boolean empty = true;
+        try (SequenceWriter writer = lineWriter.writeValues(out)) {
+            try (Stream<ExportedList> lists = listRepository.streamForExport(ownerId)) {
+                empty &= writeAll(writer, lists.iterator());
+            }
+            try (Stream<ExportedCard> cards = cardRepository.streamForExport(ownerId)) {
+                empty &= writeAll(writer, cards.iterator());
+            }
+        }
+        if (!empty) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private static boolean writeAll(SequenceWriter writer, Iterator<? extends BoardExportLine> lines) throws IOException {
+        boolean empty = true;
+        while (lines.hasNext()) {
+            writer.write(lines.next());
+            empty = false;
+        }
+        return empty;
+    }
+
+    /**
+     * Ajoute au tableau de l'utilisateur les listes et cartes lues dans {@code in} (format de l'export).
+     * Tout ou rien : une ligne invalide ou une carte dont la liste n'a pas été vue annule l'import.
+     *
+     * @throws IllegalArgumentException si une carte référence une liste absente des lignes précédentes
+     * @throws IOException              si le flux n'est pas du NDJSON valide
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ImportResult importBoard(Long ownerId, InputStream in) throws IOException {
+        Map<Long, Long> listIds = new HashMap<>();
+        List<Card> pending = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int cards = 0;
+
+        try (MappingIterator<BoardExportLine> lines = lineReader.readValues(in)) {
+            while (lines.hasNextValue()) {
+                BoardExportLine next = lines.nextValue();
+                if (next instanceof ExportedList line) {
+                    listIds.put(line.id(), importList(ownerId, line));
+                } else if (next instanceof ExportedCard line) {
+                    Long listId = listIds.get(line.listId());
+                    if (listId == null) {
+                        throw new IllegalArgumentException("Carte " + line.id() + " : liste " + line.listId() + " absente de l'import");
+                    }
+                    pending.add(toCard(ownerId, listId, line));
+                    cards++;
+                    if (pending.size() == IMPORT_BATCH_SIZE) {
+                        flush(pending);
+                    }
+                }
+            }
+        }
+        flush(pending);
+        return new ImportResult(listIds.size(), cards);
+    }
+
+    private Long importList(Long ownerId, ExportedList line) {
+        KanbanList list = new KanbanList();
+        list.setTitle(line.title());
+        list.setPosition(line.position() != null ? line.position() : 0);
+        list.setOwner(userService.getReference(ownerId));
+        KanbanList saved = listRepository.save(list);
+        eventPublisher.publishEvent(ListChangedEvent.of(ListChangedEvent.Type.CREATED, saved));
+        return saved.getId();
+    }
+
+    private Card toCard(Long ownerId, Long listId, ExportedCard line) {
+        // Références sans requête, à recréer après chaque clear()
+        Card card = new Card();
+        card.setTitle(line.title());
+        card.setDescription(line.description());
+        card.setPosition(line.position() != null ? line.position() : 0);
+        card.setList(listRepository.getReferenceById(listId));
+        card.setOwner(userService.getReference(ownerId));
+        return card;
+    }
+
+    private void flush(List<Card> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        cardRepository.saveAll(pending);
+        entityManager.flush();
+        entityManager.clear();
+        pending.clear();
+    }
+}
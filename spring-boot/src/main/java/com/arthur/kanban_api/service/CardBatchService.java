@@ -0,0 +1,210 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.CardBatchRequest;
+import com.arthur.kanban_api.dto.CardBatchUpdate;
+import com.arthur.kanban_api.dto.CardCreateRequest;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.event.CardChangedEvent;
+import com.arthur.kanban_api.repository.CardRepository;
+import com.arthur.kanban_api.repository.KanbanListRepository;
+import com.arthur.kanban_api.repository.ListOwner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Création, modification et suppression de cartes en masse, en une transaction.
+ * <p>
+ * Les droits sont vérifiés avant toute écriture, avec une requête pour toutes les cartes visées et une
+ * pour toutes les listes référencées. Les écritures partent ensuite en batch JDBC au flush
+ * (ids par séquence pooled, {@code hibernate.jdbc.batch_size}, {@code order_inserts}/{@code order_updates}).
+ */
+@Service
+public class CardBatchService {
+
+    public record Result(List<Card> created, List<Card> updated, List<Long> deleted) {}
+
+    private final CardRepository cardRepository;
+    private final KanbanListRepository listRepository;
+    private final UserService userService;
+    private final CardRankRebalancer rebalancer;
+    private final ListOwnerResolver listOwners;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CardBatchService(CardRepository cardRepository,
+                            KanbanListRepository listRepository,
+                            UserService userService,
+                            CardRankRebalancer rebalancer,
+                            ListOwnerResolver listOwners,
+                            ApplicationEventPublisher eventPublisher) {
+        this.cardRepository = cardRepository;
+        this.listRepository = listRepository;
+        this.userService = userService;
+        this.rebalancer = rebalancer;
+        this.listOwners = listOwners;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * @throws ResponseStatusException 400 (ids en double), 404 (carte ou liste inconnue) ou 403 (accès refusé) ;
+     *                                 rien n'est écrit dans ce cas
+     */
+    @Transactional
+    public Result apply(CardBatchRequest request, Long userId, boolean admin) {
+        Map<Long, Card> cards = loadTargetedCards(request, userId, admin);
+        checkLists(request, userId, admin);
+
+        List<Card> created = create(request.getCreate(), userService.getReference(userId));
+        List<Card> updated = update(request.getUpdate(), cards);
+        List<Long> deleted = delete(request.getDelete(), cards);
+        return new Result(created, updated, deleted);
+    }
+
+    private Map<Long, Card> loadTargetedCards(CardBatchRequest request, Long userId, boolean admin) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (CardBatchUpdate update : request.getUpdate()) {
+            if (!ids.add(update.getId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Carte présente plusieurs fois : " + update.getId());
+            }
+            // Positions attribuées par le serveur (écarts de CardRanks) :
+            // le placement relatif passe par POST /api/cards/{id}/move
+            if (update.getPosition() != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "La position ne peut pas être modifiée par lot (carte " + update.getId() + ")");
+            }
+        }
+        for (Long id : request.getDelete()) {
+            if (id == null || !ids.add(id)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Carte présente plusieurs fois : " + id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Card> cards = new HashMap<>();
+        for (Card card : cardRepository.findAllById(ids)) {
+            if (!admin && !card.getOwner().getId().equals(userId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Accès refusé");
+            }
+            cards.put(card.getId(), card);
+        }
+        if (cards.size() < ids.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Carte non trouvée");
+        }
+        return cards;
+    }
+
+    private void checkLists(CardBatchRequest request, Long userId, boolean admin) {
+        Set<Long> listIds = new HashSet<>();
+        request.getCreate().forEach(create -> listIds.add(create.getListId()));
+        request.getUpdate().stream()
+                .map(CardBatchUpdate::getListId)
+                .filter(Objects::nonNull)
+                .forEach(listIds::add);
+        if (listIds.isEmpty()) {
+            return;
+        }
+
+        List<ListOwner> owners = listRepository.findOwners(listIds);
+        if (owners.size() < listIds.size()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liste non trouvée");
+        }
+        if (!admin && owners.stream().anyMatch(owner -> !owner.ownerId().equals(userId))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Accès refusé");
+        }
+        // Réutilisés à la publication des événements, pour router vers le tableau de chaque liste
+        listOwners.remember(owners);
+    }
+
+    /**
+     * Cartes ajoutées en fin de liste dans l'ordre de la requête, un écart après la précédente
+     */
+    private List<Card> create(List<CardCreateRequest> requests, User owner) {
+        List<Card> cards = new ArrayList<>(requests.size());
+        Map<Long, Integer> lastPositions = new HashMap<>();
+        for (CardCreateRequest request : requests) {
+            Card card = new Card();
+            card.setTitle(request.getTitle().trim());
+            card.setDescription(request.getDescription());
+            card.setPosition(nextPosition(lastPositions, request.getListId(), cards));
+            card.setList(listRepository.getReferenceById(request.getListId()));
+            card.setOwner(owner);
+            cards.add(card);
+        }
+        List<Card> saved = cardRepository.saveAll(cards);
+        saved.forEach(card -> eventPublisher.publishEvent(CardChangedEvent.of(CardChangedEvent.Type.CREATED, card, null)));
+        return saved;
+    }
+
+    private int nextPosition(Map<Long, Integer> lastPositions, Long listId, List<Card> pending) {
+        Integer last = lastPositions.containsKey(listId) ? lastPositions.get(listId) : cardRepository.findMaxPosition(listId);
+        Integer position = CardRanks.between(last, null);
+        if (position == null) {
+            // Positions en butée : renumérotation des cartes existantes puis de celles déjà créées par ce lot
+            List<Card> ordered = new ArrayList<>(rebalancer.lockAndLoad(listId));
+            pending.stream().filter(card -> card.getList().getId().equals(listId)).forEach(ordered::add);
+            rebalancer.renumber(ordered);
+            position = CardRanks.at(ordered.size());
+        }
+        lastPositions.put(listId, position);
+        return position;
+    }
+
+    /**
+     * Titre et description modifiés sur place ; une carte changée de liste est ajoutée en fin de sa nouvelle
+     * liste, comme une création
+     */
+    private List<Card> update(List<CardBatchUpdate> requests, Map<Long, Card> cards) {
+        List<Card> updated = new ArrayList<>(requests.size());
+        Map<Long, Integer> lastPositions = new HashMap<>();
+        for (CardBatchUpdate request : requests) {
+            Card card = cards.get(request.getId());
+            Long previousListId = card.getList().getId();
+            Integer previousPosition = card.getPosition();
+
+            if (request.getTitle() != null && !request.getTitle().isBlank()) {
+                card.setTitle(request.getTitle().trim());
+            }
+            if (request.getDescription() != null) {
+                card.setDescription(request.getDescription());
+            }
+            if (request.getListId() != null && !request.getListId().equals(previousListId)) {
+                // Cartes déjà déplacées par ce lot vues par la requête (flush automatique) : rien en attente
+                card.setPosition(nextPosition(lastPositions, request.getListId(), List.of()));
+                card.setList(listRepository.getReferenceById(request.getListId()));
+            }
+
+            // Entités gérées : les UPDATE sont émis (et groupés) au flush
+            boolean moved = !Objects.equals(previousListId, card.getList().getId())
+                    || !Objects.equals(previousPosition, card.getPosition());
+            CardChangedEvent.Type type = moved ? CardChangedEvent.Type.MOVED : CardChangedEvent.Type.UPDATED;
+            eventPublisher.publishEvent(CardChangedEvent.of(type, card, moved ? previousListId : null));
+            updated.add(card);
+        }
+        return updated;
+    }
+
+    private List<Long> delete(List<Long> ids, Map<Long, Card> cards) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        for (Long id : ids) {
+            eventPublisher.publishEvent(CardChangedEvent.of(CardChangedEvent.Type.DELETED, cards.get(id), null));
+        }
+        cardRepository.deleteAllByIdInBatch(ids);
+        return ids;
+    }
+}
@@ -0,0 +1,88 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.event.BoardChangedEvent;
+import com.arthur.kanban_api.event.CardRanksCrowdedEvent;
+import com.arthur.kanban_api.repository.CardRepository;
+import com.arthur.kanban_api.repository.KanbanListRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Renumérotation des positions d'une liste ({@link CardRanks#GAP}, 2×GAP, ...) en conservant l'ordre.
+ * La ligne de la liste est verrouillée pendant l'opération pour sérialiser les renumérotations concurrentes.
+ */
+@Component
+public class CardRankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardRankRebalancer.class);
+
+    private final CardRepository cardRepository;
+    private final KanbanListRepository listRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CardRankRebalancer(CardRepository cardRepository, KanbanListRepository listRepository,
+                              ApplicationEventPublisher eventPublisher) {
+        this.cardRepository = cardRepository;
+        this.listRepository = listRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onCrowded(CardRanksCrowdedEvent event) {
+        Optional<KanbanList> list = listRepository.lockById(event.listId());
+        if (list.isEmpty()) {
+            return;
+        }
+        int updated = renumber(cardRepository.findByListIdOrderByPositionAscIdAsc(event.listId()));
+        if (updated > 0) {
+            eventPublisher.publishEvent(new BoardChangedEvent(list.get().getOwner().getId()));
+        }
+        logger.debug("Rebalanced list {}: {} cards renumbered", event.listId(), updated);
+    }
+
+    /**
+     * Verrouille la ligne de la liste jusqu'à la fin de la transaction courante : un déplacement qui lit les
+     * positions des voisines ne croise pas une renumérotation de la même liste
+     */
+    void lock(Long listId) {
+        listRepository.lockById(listId);
+    }
+
+    /**
+     * Verrouille la liste et renvoie ses cartes dans l'ordre, pour une renumérotation dans la transaction courante
+     */
+    List<Card> lockAndLoad(Long listId) {
+        lock(listId);
+        return cardRepository.findByListIdOrderByPositionAscIdAsc(listId);
+    }
+
+    /**
+     * Attribue à chaque carte la position de son rang ; seules les cartes dont la position change sont modifiées
+     */
+    int renumber(List<Card> ordered) {
+        int updated = 0;
+        for (int i = 0; i < ordered.size(); i++) {
+            Card card = ordered.get(i);
+            int position = CardRanks.at(i);
+            if (card.getPosition() == null || card.getPosition() != position) {
+                card.setPosition(position);
+                updated++;
+            }
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,53 @@
+package com.arthur.kanban_api.service;
+
+/**
+ * Positions des cartes espacées d'un pas fixe : insérer entre deux voisines prend le milieu de l'écart,
+ * sans renuméroter les autres cartes. Quand l'écart est épuisé, la liste est renumérotée.
+ */
+final class CardRanks {
+
+    static final int GAP = 1024;
+
+    /**
+     * En dessous de cet écart restant, la liste est renumérotée en arrière-plan après le commit
+     */
+    static final int MIN_GAP = 8;
+
+    private CardRanks() {
+    }
+
+    /**
+     * Position strictement entre {@code previous} et {@code next} (null = pas de voisine de ce côté),
+     * ou null s'il n'y a plus de place
+     */
+    static Integer between(Integer previous, Integer next) {
+        if (previous == null && next == null) {
+            return GAP;
+        }
+        if (next == null) {
+            long candidate = (long) previous + GAP;
+            return candidate <= Integer.MAX_VALUE ? (int) candidate : null;
+        }
+        // Les positions restent >= 0 : en tête de liste, on prend le milieu de [0, next[
+        long lower = previous != null ? previous : -1L;
+        if (next - lower <= 1) {
+            return null;
+        }
+        return (int) (lower + (next - lower) / 2);
+    }
+
+    /**
+     * Vrai si la position choisie laisse trop peu de place d'un côté pour les prochaines insertions
+     */
+    static boolean crowded(Integer previous, int position, Integer next) {
+        long lower = previous != null ? previous : -1L;
+        return position - lower < MIN_GAP || (next != null && next - position < MIN_GAP);
+    }
+
+    /**
+     * Position de rang {@code index} (0-based) après renumérotation
+     */
+    static int at(int index) {
+        return (index + 1) * GAP;
+    }
+}
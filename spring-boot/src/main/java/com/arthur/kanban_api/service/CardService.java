@@ -1,37 +1,181 @@
 package com.arthur.kanban_api.service;
 
+import com.arthur.kanban_api.dto.CardCursor;
+import com.arthur.kanban_api.dto.CardPageResponse;
+import com.arthur.kanban_api.dto.CardResponse;
 import com.arthur.kanban_api.entity.Card;
 import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.event.CardChangedEvent;
+import com.arthur.kanban_api.event.CardRanksCrowdedEvent;
 import com.arthur.kanban_api.repository.CardRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class CardService {
 
     private final CardRepository cardRepository;
+    private final CardRankRebalancer rebalancer;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CardService(CardRepository cardRepository) {
+    public CardService(CardRepository cardRepository, CardRankRebalancer rebalancer,
+                       ApplicationEventPublisher eventPublisher) {
         this.cardRepository = cardRepository;
+        this.rebalancer = rebalancer;
+        this.eventPublisher = eventPublisher;
     }
 
-    public Card save(Card card) {
-        return cardRepository.save(card);
+    /**
+     * Ajoute la carte en fin de liste, un écart après la dernière ; la liste est renumérotée si les positions
+     * arrivent en butée
+     */
+    @Transactional
+    public Card create(Card card) {
+        Long listId = card.getList().getId();
+        Integer position = CardRanks.between(cardRepository.findMaxPosition(listId), null);
+        if (position == null) {
+            List<Card> ordered = rebalancer.lockAndLoad(listId);
+            rebalancer.renumber(ordered);
+            position = CardRanks.at(ordered.size());
+        }
+        card.setPosition(position);
+        Card saved = cardRepository.save(card);
+        eventPublisher.publishEvent(CardChangedEvent.of(CardChangedEvent.Type.CREATED, saved, null));
+        return saved;
     }
 
-    public Optional<Card> findById(Long id) {
-        return cardRepository.findById(id);
+    /**
+     * Enregistre la carte modifiée ; un changement de liste ou de position est publié comme un déplacement
+     */
+    @Transactional
+    public Card update(Card card, Long previousListId, Integer previousPosition) {
+        Card saved = cardRepository.save(card);
+        boolean moved = !Objects.equals(previousListId, saved.getList().getId())
+                || !Objects.equals(previousPosition, saved.getPosition());
+        CardChangedEvent.Type type = moved ? CardChangedEvent.Type.MOVED : CardChangedEvent.Type.UPDATED;
+        eventPublisher.publishEvent(CardChangedEvent.of(type, saved, moved ? previousListId : null));
+        return saved;
     }
 
+    /**
+     * Place la carte dans {@code target} entre {@code beforeId} (carte qui la précède) et {@code afterId}
+     * (carte qui la suit). Avec une seule voisine, l'autre est la carte adjacente dans l'ordre (position, id)
+     * de la liste ; sans voisine, la carte va en fin de liste.
+     * <p>
+     * Cas courant : une seule ligne modifiée, au milieu de l'écart entre les voisines. Si l'écart est épuisé,
+     * la liste est renumérotée dans la transaction ; s'il devient trop faible, elle l'est après le commit.
+     * La liste cible est verrouillée avant la lecture des voisines, comme pour une renumérotation : les deux
+     * opérations se suivent au lieu de mêler anciennes et nouvelles positions.
+     *
+     * @throws IllegalArgumentException si une voisine n'existe pas, est la carte elle-même, n'est pas dans la liste
+     *                                  cible, ou si les deux voisines ne sont pas adjacentes
+     */
+    @Transactional
+    public Card move(Card card, KanbanList target, Long beforeId, Long afterId) {
+        Long previousListId = card.getList().getId();
+        Integer previousPosition = card.getPosition();
+        rebalancer.lock(target.getId());
+        Card before = neighbour(card, target, beforeId);
+        Card after = neighbour(card, target, afterId);
+        if (before != null) {
+            Card next = first(cardRepository.findNext(target.getId(), card.getId(), before.getPosition(), before.getId(), Limit.of(1)));
+            if (after == null) {
+                after = next;
+            } else if (next == null || !next.getId().equals(after.getId())) {
+                throw new IllegalArgumentException("Les cartes voisines ne sont pas adjacentes dans la liste cible");
+            }
+        } else if (after != null) {
+            before = first(cardRepository.findPrevious(target.getId(), card.getId(), after.getPosition(), after.getId(), Limit.of(1)));
+        }
+
+        Integer lower = before != null ? before.getPosition() : null;
+        Integer upper = after != null ? after.getPosition() : null;
+        if (before == null && after == null) {
+            lower = cardRepository.findMaxPosition(target.getId(), card.getId());
+        }
+
+        card.setList(target);
+        Integer position = CardRanks.between(lower, upper);
+        if (position != null) {
+            card.setPosition(position);
+            if (CardRanks.crowded(lower, position, upper)) {
+                eventPublisher.publishEvent(new CardRanksCrowdedEvent(target.getId()));
+            }
+        } else {
+            // Plus de place entre les voisines : renumérotation de la liste avec la carte à sa nouvelle place
+            List<Card> ordered = new ArrayList<>(rebalancer.lockAndLoad(target.getId()));
+            ordered.removeIf(c -> c.getId().equals(card.getId()));
+            int index = before != null ? ordered.indexOf(before) + 1
+                    : after != null ? ordered.indexOf(after) : ordered.size();
+            ordered.add(index, card);
+            rebalancer.renumber(ordered);
+        }
+        return update(card, previousListId, previousPosition);
+    }
+
+    private static Card first(List<Card> cards) {
+        return cards.isEmpty() ? null : cards.get(0);
+    }
+
+    private Card neighbour(Card card, KanbanList target, Long neighbourId) {
+        if (neighbourId == null) {
+            return null;
+        }
+        if (neighbourId.equals(card.getId())) {
+            throw new IllegalArgumentException("Une carte ne peut pas être sa propre voisine");
+        }
+        Card neighbour = cardRepository.findById(neighbourId)
+                .orElseThrow(() -> new IllegalArgumentException("Carte voisine non trouvée"));
+        if (!neighbour.getList().getId().equals(target.getId())) {
+            throw new IllegalArgumentException("La carte voisine n'est pas dans la liste cible");
+        }
+        return neighbour;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CardResponse> findResponseById(Long id) {
+        return cardRepository.findResponseById(id);
+    }
+
+    /**
+     * Carte que l'utilisateur peut modifier : la sienne (propriétaire filtré dans la requête) ou n'importe laquelle
+     * pour un admin. Vide si la carte n'existe pas ou n'appartient pas à l'utilisateur.
+     */
+    public Optional<Card> findEditable(Long id, Long userId, boolean admin) {
+        return admin ? cardRepository.findById(id) : cardRepository.findByIdAndOwnerId(id, userId);
+    }
+
+    public boolean exists(Long id) {
+        return cardRepository.existsById(id);
+    }
+
+    @Transactional
     public void delete(Card card) {
+        eventPublisher.publishEvent(CardChangedEvent.of(CardChangedEvent.Type.DELETED, card, null));
         cardRepository.delete(card);
     }
 
-    public List<Card> findByList(KanbanList list) {
-        return cardRepository.findByListOrderByPositionAsc(list);
+    /**
+     * Page de cartes d'une liste après {@code after} (null = début) ; {@code limit + 1} lignes sont lues
+     * pour savoir s'il reste une page
+     */
+    @Transactional(readOnly = true)
+    public CardPageResponse findPage(Long listId, CardCursor after, int limit) {
+        Limit fetch = Limit.of(limit + 1);
+        List<CardResponse> rows = after == null
+                ? cardRepository.findPage(listId, fetch)
+                : cardRepository.findPageAfter(listId, after.position(), after.id(), fetch);
+        if (rows.size() <= limit) {
+            return new CardPageResponse(rows, null);
+        }
+        List<CardResponse> page = rows.subList(0, limit);
+        return new CardPageResponse(page, CardCursor.of(page.get(limit - 1)).toString());
     }
 }
-
-
@@ -4,7 +4,6 @@ import com.arthur.kanban_api.event.KanbanEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
@@ -17,14 +16,14 @@ public class EventPublisherService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublisherService.class);
     
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final EventPublishingPipeline pipeline;
     
     // Préfixe pour tous les topics Kanban
     private static final String TOPIC_PREFIX = "kanban.";
 
     @Autowired
-    public EventPublisherService(RedisTemplate<String, Object> redisTemplate) {
-        this.redisTemplate = redisTemplate;
+    public EventPublisherService(EventPublishingPipeline pipeline) {
+        this.pipeline = pipeline;
     }
 
     /**
@@ -35,25 +34,24 @@ public class EventPublisherService {
     }
 
     /**
-     * Publier un événement avec métadonnées
+     * Publier un événement avec métadonnées.
+     * L'envoi à Redis est asynchrone (voir {@link EventPublishingPipeline}) : un Redis lent ou indisponible
+     * n'ajoute ni latence ni erreur à la requête appelante.
      */
     public void publishEvent(String eventType, Map<String, Object> data, Map<String, Object> metadata) {
-        try {
-            KanbanEvent event = new KanbanEvent(eventType, data, metadata);
-            String topic = TOPIC_PREFIX + eventType.toLowerCase();
-            
-            logger.info("Publishing event {} to topic {}", event.getEventId(), topic);
-            logger.debug("Event details: {}", event);
-            
-            Long subscriberCount = redisTemplate.convertAndSend(topic, event);
-            
-            logger.info("Event {} published successfully to {} subscribers", 
-                event.getEventId(), subscriberCount);
-                
-        } catch (Exception e) {
-            logger.error("Failed to publish event type {}: {}", eventType, e.getMessage(), e);
-            throw new RuntimeException("Event publication failed", e);
-        }
+        KanbanEvent event = new KanbanEvent(eventType, data, metadata);
+        String topic = topicFor(eventType);
+
+        logger.debug("Queueing event {} for topic {}: {}", event.getEventId(), topic, event);
+
+        pipeline.enqueue(topic, event);
+    }
+
+    /**
+     * Topic Redis d'un type d'événement (ex: CardCreated → kanban.cardcreated)
+     */
+    public static String topicFor(String eventType) {
+        return TOPIC_PREFIX + eventType.toLowerCase();
     }
 
     /**
@@ -0,0 +1,344 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.event.KanbanEventCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File bornée + thread dédié qui publie les événements Kanban sur Redis par lots, en pipeline.
+ * <p>
+ * Le thread de requête ne paie qu'un enqueue. Quand la file est pleine, la politique de contre-pression
+ * s'applique : BLOCK (attente bornée puis abandon), DROP_OLDEST (on sacrifie le plus ancien) ou
+ * SPILL (débordement sur disque, rejoué quand la file se vide et au plus tard toutes les
+ * {@code app.events.spill.replay-interval}, même sous charge continue).
+ * <p>
+ * Chaque topic part soit en pub/sub (défaut, fire-and-forget), soit dans un Redis Stream du même nom
+ * ({@code app.events.streams.topics}) consommé par groupe de workers, avec acquittement et rejeu.
+ */
+@Component
+public class EventPublishingPipeline implements SmartLifecycle {
+
+    public enum BackpressurePolicy { BLOCK, DROP_OLDEST, SPILL }
+
+    public record Outgoing(String topic, KanbanEvent event) {}
+
+    private static final Logger logger = LoggerFactory.getLogger(EventPublishingPipeline.class);
+
+    // Borne du tag "type" : au-delà, les types inconnus sont regroupés sous "other"
+    private static final int MAX_EVENT_TYPES = 32;
+
+    private record PendingEvent(String topic, KanbanEvent event, long enqueuedAtNanos) {}
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final KanbanEventCodec codec;
+    private final BlockingQueue<PendingEvent> queue;
+    private final BackpressurePolicy policy;
+    private final int batchSize;
+    private final Duration blockTimeout;
+    private final EventSpillFile spillFile;
+    private final long spillReplayIntervalNanos;
+    private final RedisStreamTransport streams;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> publishLagByType = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failuresByType = new ConcurrentHashMap<>();
+    // Abonnés pub/sub ayant reçu le dernier événement publié (réponse de PUBLISH)
+    private final AtomicLong subscribers = new AtomicLong();
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public EventPublishingPipeline(
+            RedisTemplate<String, Object> redisTemplate,
+            KanbanEventCodec codec,
+            MeterRegistry meterRegistry,
+            @Value("${app.events.queue.capacity:10000}") int capacity,
+            @Value("${app.events.queue.batch-size:100}") int batchSize,
+            @Value("${app.events.queue.backpressure:DROP_OLDEST}") BackpressurePolicy policy,
+            @Value("${app.events.queue.block-timeout:50ms}") Duration blockTimeout,
+            @Value("${app.events.spill.path:${java.io.tmpdir}/kanban-events.spill}") Path spillPath,
+            @Value("${app.events.spill.replay-interval:1s}") Duration spillReplayInterval,
+            @Value("${app.events.streams.topics:}") List<String> streamTopics,
+            @Value("${app.events.streams.group:notifications}") String streamGroup,
+            @Value("${app.events.streams.max-length:100000}") long streamMaxLength
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.codec = codec;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.blockTimeout = blockTimeout;
+        this.spillFile = new EventSpillFile(spillPath);
+        this.spillReplayIntervalNanos = spillReplayInterval.toNanos();
+        this.streams = new RedisStreamTransport(redisTemplate, streamTopics, streamGroup, streamMaxLength);
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("kanban.events.queue.depth", queue, BlockingQueue::size)
+                .description("Événements en attente de publication")
+                .register(meterRegistry);
+        Gauge.builder("kanban.events.subscribers", subscribers, AtomicLong::get)
+                .description("Abonnés pub/sub ayant reçu le dernier événement publié")
+                .register(meterRegistry);
+        this.published = outcomeCounter(meterRegistry, "published");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.spilled = outcomeCounter(meterRegistry, "spilled");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("kanban.events.outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private Timer publishLag(String eventType) {
+        return publishLagByType.computeIfAbsent(typeTag(publishLagByType, eventType),
+                type -> Timer.builder("kanban.events.publish.lag")
+                        .description("Délai entre l'enqueue et l'envoi à Redis")
+                        .tag("type", type)
+                        .register(meterRegistry));
+    }
+
+    private void recordFailures(List<KanbanEvent> events) {
+        for (KanbanEvent event : events) {
+            failuresByType.computeIfAbsent(typeTag(failuresByType, event.getEventType()),
+                    type -> Counter.builder("kanban.events.publish.failures")
+                            .description("Événements dont l'envoi à Redis a échoué")
+                            .tag("type", type)
+                            .register(meterRegistry))
+                    .increment();
+        }
+    }
+
+    private static String typeTag(Map<String, ?> meters, String eventType) {
+        if (eventType == null) {
+            return "other";
+        }
+        return meters.containsKey(eventType) || meters.size() < MAX_EVENT_TYPES ? eventType : "other";
+    }
+
+    /**
+     * Met l'événement en file ; ne lève jamais d'exception vers l'appelant
+     */
+    public void enqueue(String topic, KanbanEvent event) {
+        PendingEvent pending = new PendingEvent(topic, event, System.nanoTime());
+        if (queue.offer(pending)) {
+            return;
+        }
+        switch (policy) {
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(pending, blockTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                        drop(pending);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    drop(pending);
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!queue.offer(pending)) {
+                    PendingEvent oldest = queue.poll();
+                    if (oldest != null) {
+                        drop(oldest);
+                    }
+                }
+            }
+            case SPILL -> spill(List.of(pending));
+        }
+    }
+
+    private void drop(PendingEvent pending) {
+        dropped.increment();
+        logger.warn("Event queue full, dropping event {} ({})", pending.event().getEventId(), pending.topic());
+    }
+
+    private void spill(List<PendingEvent> events) {
+        for (PendingEvent pending : events) {
+            try {
+                spillFile.append(pending.topic(), serialize(pending.event()));
+                spilled.increment();
+            } catch (Exception e) {
+                failed.increment();
+                logger.error("Failed to spill event {}: {}", pending.event().getEventId(), e.getMessage());
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        long lastSpillReplay = System.nanoTime();
+        // À l'arrêt, on vide la file avant de sortir
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                // File vide, ou file jamais vide sous charge continue : le débordement repart quand même
+                if (first == null || System.nanoTime() - lastSpillReplay >= spillReplayIntervalNanos) {
+                    replaySpill();
+                    lastSpillReplay = System.nanoTime();
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<PendingEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> topics = new ArrayList<>(batch.size());
+            List<byte[]> payloads = new ArrayList<>(batch.size());
+            for (PendingEvent pending : batch) {
+                topics.add(pending.topic());
+                payloads.add(serialize(pending.event()));
+            }
+            pipelinePublish(topics, payloads);
+            long now = System.nanoTime();
+            for (PendingEvent pending : batch) {
+                publishLag(pending.event().getEventType()).record(now - pending.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+            }
+            published.increment(batch.size());
+            logger.debug("Published batch of {} events", batch.size());
+        } catch (Exception e) {
+            logger.error("Failed to publish batch of {} events: {}", batch.size(), e.getMessage());
+            recordFailures(batch.stream().map(PendingEvent::event).toList());
+            if (policy == BackpressurePolicy.SPILL) {
+                spill(batch);
+            } else {
+                failed.increment(batch.size());
+            }
+        }
+    }
+
+    /**
+     * Publication synchrone d'un lot, hors file (relais d'outbox) : lève une exception si Redis échoue,
+     * pour que l'appelant conserve les événements et réessaie
+     */
+    public void publishNow(List<Outgoing> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<String> topics = new ArrayList<>(events.size());
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        for (Outgoing outgoing : events) {
+            topics.add(outgoing.topic());
+            payloads.add(serialize(outgoing.event()));
+        }
+        try {
+            pipelinePublish(topics, payloads);
+        } catch (RuntimeException e) {
+            recordFailures(events.stream().map(Outgoing::event).toList());
+            throw e;
+        }
+        published.increment(events.size());
+    }
+
+    // Envoi Redis isolé pour les tests : lève une exception si le lot n'est pas parti
+    void pipelinePublish(List<String> topics, List<byte[]> payloads) {
+        streams.prepare(topics);
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < topics.size(); i++) {
+                publish(connection, topics.get(i), payloads.get(i));
+            }
+            return null;
+        });
+        // Une réponse par commande : PUBLISH renvoie le nombre d'abonnés atteints, XADD l'id de l'entrée
+        for (int i = results.size() - 1; i >= 0; i--) {
+            if (results.get(i) instanceof Long receivers) {
+                subscribers.set(receivers);
+                break;
+            }
+        }
+    }
+
+    private void replaySpill() {
+        if (policy != BackpressurePolicy.SPILL || !spillFile.hasPending()) {
+            return;
+        }
+        try {
+            spillFile.replay(batchSize, events -> {
+                pipelinePublish(
+                        events.stream().map(EventSpillFile.SpilledEvent::topic).toList(),
+                        events.stream().map(EventSpillFile.SpilledEvent::payload).toList());
+                published.increment(events.size());
+            });
+        } catch (Exception e) {
+            logger.warn("Spilled events replay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void publish(RedisConnection connection, String topic, byte[] payload) {
+        if (streams.handles(topic)) {
+            streams.append(connection, topic, payload);
+        } else {
+            connection.publish(topic.getBytes(StandardCharsets.UTF_8), payload);
+        }
+    }
+
+    private byte[] serialize(KanbanEvent event) {
+        return codec.encode(event);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runWorker, "kanban-event-publisher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,104 @@
+package com.arthur.kanban_api.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Débordement sur disque des événements qui ne tiennent plus dans la file en mémoire.
+ * <p>
+ * Format : suite d'enregistrements {@code [topic UTF][taille int][payload]}. Le rejeu renomme d'abord
+ * le fichier pour que les écritures concurrentes repartent sur un fichier neuf ; en cas d'échec,
+ * le fichier de rejeu est conservé et repris depuis le début (livraison au moins une fois).
+ */
+class EventSpillFile {
+
+    record SpilledEvent(String topic, byte[] payload) {}
+
+    interface BatchSender {
+        void send(List<SpilledEvent> batch) throws Exception;
+    }
+
+    private final Path file;
+    private final Path replayFile;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    EventSpillFile(Path file) {
+        this.file = file;
+        this.replayFile = file.resolveSibling(file.getFileName() + ".replay");
+    }
+
+    void append(String topic, byte[] payload) {
+        lock.lock();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            out.writeUTF(topic);
+            out.writeInt(payload.length);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean hasPending() {
+        return Files.exists(replayFile) || Files.exists(file);
+    }
+
+    /**
+     * Rejoue les événements débordés par lots ; ne fait rien tant que l'envoi échoue
+     */
+    void replay(int batchSize, BatchSender sender) throws Exception {
+        if (!Files.exists(replayFile)) {
+            lock.lock();
+            try {
+                if (!Files.exists(file)) {
+                    return;
+                }
+                Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(replayFile)))) {
+            List<SpilledEvent> batch = new ArrayList<>(batchSize);
+            SpilledEvent next;
+            while ((next = read(in)) != null) {
+                batch.add(next);
+                if (batch.size() == batchSize) {
+                    sender.send(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                sender.send(batch);
+            }
+        }
+        Files.deleteIfExists(replayFile);
+    }
+
+    private static SpilledEvent read(DataInputStream in) throws IOException {
+        String topic;
+        try {
+            topic = in.readUTF();
+        } catch (EOFException end) {
+            return null;
+        }
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        return new SpilledEvent(topic, payload);
+    }
+}
@@ -0,0 +1,113 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.CardChangedEvent;
+import com.arthur.kanban_api.event.ListChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Branche les événements de domaine des services sur l'outbox :
+ * <ul>
+ *   <li>avant le commit, l'événement est écrit dans l'outbox (même transaction que la modification) ;</li>
+ *   <li>après le commit, le relais est réveillé sur un thread {@code @Async}, pour que l'événement parte
+ *   aussitôt sans retenir la transaction ni la réponse HTTP. Un seul réveil par transaction : un import de
+ *   5 000 cartes ne soumet qu'une tâche au lieu de 5 000 passages concurrents du relais.</li>
+ * </ul>
+ */
+@Component
+public class KanbanDomainEventListener {
+
+    /**
+     * Publié une fois par transaction qui écrit dans l'outbox
+     */
+    record RelayRequested() {}
+
+    private final OutboxService outboxService;
+    private final ListOwnerResolver listOwners;
+    private final Optional<OutboxRelay> outboxRelay;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public KanbanDomainEventListener(OutboxService outboxService, ListOwnerResolver listOwners,
+                                     Optional<OutboxRelay> outboxRelay, ApplicationEventPublisher eventPublisher) {
+        this.outboxService = outboxService;
+        this.listOwners = listOwners;
+        this.outboxRelay = outboxRelay;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordCardEvent(CardChangedEvent event) {
+        // HashMap : previousListId n'a de sens que pour un déplacement
+        Map<String, Object> data = new HashMap<>();
+        data.put("cardId", event.cardId());
+        data.put("title", event.title());
+        data.put("listId", event.listId());
+        data.put("position", event.position());
+        data.put("userId", event.ownerId());
+        data.put("action", event.type().action());
+        if (event.previousListId() != null) {
+            data.put("previousListId", event.previousListId());
+        }
+
+        // Routage (flux SSE, invalidation des autres nœuds) vers le tableau qui contient la carte
+        Long boardOwnerId = listOwners.ownerOf(event.listId());
+        Map<String, Object> metadata = Map.of(
+            "userId", boardOwnerId != null ? boardOwnerId : event.ownerId(),
+            "correlationId", "card-" + event.cardId()
+        );
+
+        outboxService.record(event.type().eventType(), data, metadata);
+        requestRelayAfterCommit();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void recordListEvent(ListChangedEvent event) {
+        Map<String, Object> data = Map.of(
+            "listId", event.listId(),
+            "title", event.title(),
+            "position", event.position(),
+            "userId", event.ownerId(),
+            "action", event.type().action()
+        );
+
+        Map<String, Object> metadata = Map.of(
+            "userId", event.ownerId(),
+            "correlationId", "list-" + event.listId()
+        );
+
+        outboxService.record(event.type().eventType(), data, metadata);
+        requestRelayAfterCommit();
+    }
+
+    /**
+     * Marque la transaction courante : seul son premier événement demande un réveil du relais après le commit
+     */
+    private void requestRelayAfterCommit() {
+        if (outboxRelay.isEmpty() || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(KanbanDomainEventListener.this);
+            }
+        });
+        eventPublisher.publishEvent(new RelayRequested());
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void flushAfterCommit(RelayRequested request) {
+        outboxRelay.ifPresent(OutboxRelay::relay);
+    }
+}
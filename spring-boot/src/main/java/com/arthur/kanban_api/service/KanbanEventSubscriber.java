@@ -0,0 +1,68 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.event.KanbanEventCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Abonnement unique de ce nœud aux événements Kanban publiés en pub/sub ({@code kanban.*}), y compris
+ * ceux des autres instances. Chaque message est décodé une fois puis remis à tous les handlers enregistrés.
+ * <p>
+ * Les topics routés vers un Redis Stream ({@code app.events.streams.topics}) ne passent pas par ce canal.
+ */
+@Component
+public class KanbanEventSubscriber implements MessageListener {
+
+    static final PatternTopic ALL_EVENTS = new PatternTopic("kanban.*");
+
+    private static final Logger logger = LoggerFactory.getLogger(KanbanEventSubscriber.class);
+
+    private final RedisMessageListenerContainer container;
+    private final KanbanEventCodec codec;
+    private final List<Consumer<KanbanEvent>> handlers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    public KanbanEventSubscriber(RedisMessageListenerContainer container, KanbanEventCodec codec) {
+        this.container = container;
+        this.codec = codec;
+    }
+
+    /**
+     * Ajoute un handler ; l'abonnement Redis n'est ouvert qu'au premier enregistrement
+     */
+    public void register(Consumer<KanbanEvent> handler) {
+        handlers.add(handler);
+        if (subscribed.compareAndSet(false, true)) {
+            container.addMessageListener(this, ALL_EVENTS);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        KanbanEvent event;
+        try {
+            event = codec.decode(message.getBody());
+        } catch (Exception e) {
+            logger.warn("Ignoring undecodable message on {}: {}", new String(message.getChannel()), e.getMessage());
+            return;
+        }
+        for (Consumer<KanbanEvent> handler : handlers) {
+            try {
+                handler.accept(event);
+            } catch (Exception e) {
+                logger.warn("Event handler failed for {}", event.getEventId(), e);
+            }
+        }
+    }
+}
@@ -1,31 +1,122 @@
 package com.arthur.kanban_api.service;
 
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.dto.CardResponse;
+import com.arthur.kanban_api.dto.ListResponse;
 import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.event.ListChangedEvent;
+import com.arthur.kanban_api.repository.CardRepository;
 import com.arthur.kanban_api.repository.KanbanListRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class KanbanListService {
 
     private final KanbanListRepository repository;
+    private final CardRepository cardRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public KanbanListService(KanbanListRepository repository) {
+    public KanbanListService(KanbanListRepository repository, CardRepository cardRepository,
+                             ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.cardRepository = cardRepository;
+        this.eventPublisher = eventPublisher;
     }
 
-    public KanbanList save(KanbanList list) {
-        return repository.save(list);
+    @Transactional
+    public KanbanList create(KanbanList list) {
+        KanbanList saved = repository.save(list);
+        eventPublisher.publishEvent(ListChangedEvent.of(ListChangedEvent.Type.CREATED, saved));
+        return saved;
     }
 
-    public Optional<KanbanList> findById(Long id) {
-        return repository.findById(id);
+    /**
+     * Liste que l'utilisateur peut modifier : la sienne (propriétaire filtré dans la requête) ou n'importe laquelle
+     * pour un admin. Vide si la liste n'existe pas ou n'appartient pas à l'utilisateur.
+     */
+    public Optional<KanbanList> findEditable(Long id, Long userId, boolean admin) {
+        return admin ? repository.findById(id) : repository.findByIdAndOwnerId(id, userId);
     }
 
-    public void deleteById(Long id) {
-        repository.deleteById(id);
+    /**
+     * Même contrôle que {@link #findEditable} sans charger la liste
+     */
+    public boolean isEditable(Long id, Long userId, boolean admin) {
+        return admin ? repository.existsById(id) : repository.existsByIdAndOwnerId(id, userId);
+    }
+
+    public boolean exists(Long id) {
+        return repository.existsById(id);
+    }
+
+    /**
+     * Référence sans requête, pour rattacher une carte à une liste déjà vérifiée
+     */
+    public KanbanList getReference(Long id) {
+        return repository.getReferenceById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ListResponse> findLists(Long ownerId) {
+        return repository.findResponsesByOwnerId(ownerId);
+    }
+
+    /**
+     * Tableau complet en deux requêtes projetées (listes, puis toutes leurs cartes), quel que soit le nombre de listes
+     */
+    @Transactional(readOnly = true)
+    public List<BoardListResponse> findBoard(Long ownerId) {
+        Map<Long, List<CardResponse>> cardsByList = new HashMap<>();
+        for (CardResponse card : cardRepository.findBoardCards(ownerId)) {
+            cardsByList.computeIfAbsent(card.getListId(), id -> new ArrayList<>()).add(card);
+        }
+        return repository.findResponsesByOwnerId(ownerId).stream()
+                .map(list -> new BoardListResponse(
+                        list.getId(),
+                        list.getTitle(),
+                        list.getPosition(),
+                        list.getOwnerId(),
+                        list.getCreatedAt(),
+                        list.getUpdatedAt(),
+                        list.getVersion(),
+                        cardsByList.getOrDefault(list.getId(), List.of())
+                ))
+                .toList();
     }
-}
 
+    /**
+     * Supprime la liste et ses cartes en deux requêtes, sans charger les cartes
+     * (la cascade JPA les chargerait puis les supprimerait une à une)
+     */
+    @Transactional
+    public void delete(KanbanList list) {
+        delete(list, null);
+    }
 
+    /**
+     * Comme {@link #delete(KanbanList)}, à condition que la liste soit toujours à {@code expectedVersion}
+     * (null : sans condition)
+     *
+     * @throws ObjectOptimisticLockingFailureException si la liste a changé depuis ; rien n'est supprimé
+     */
+    @Transactional
+    public void delete(KanbanList list, Long expectedVersion) {
+        eventPublisher.publishEvent(ListChangedEvent.of(ListChangedEvent.Type.DELETED, list));
+        cardRepository.deleteByListId(list.getId());
+        if (expectedVersion == null) {
+            repository.deleteAllByIdInBatch(List.of(list.getId()));
+        } else if (repository.deleteByIdAndVersion(list.getId(), expectedVersion) == 0) {
+            // Rollback : les cartes déjà supprimées sont restaurées
+            throw new ObjectOptimisticLockingFailureException(KanbanList.class, list.getId());
+        }
+    }
+}
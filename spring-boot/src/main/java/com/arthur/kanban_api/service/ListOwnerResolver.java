@@ -0,0 +1,90 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.repository.KanbanListRepository;
+import com.arthur.kanban_api.repository.ListOwner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Propriétaire des listes touchées par une transaction, c'est-à-dire le tableau qui change quand une carte
+ * y est modifiée (un admin peut modifier une carte dans la liste d'un autre utilisateur).
+ * <p>
+ * Les propriétaires sont lus par lot ({@link KanbanListRepository#findOwners}) et mémorisés pour la transaction
+ * courante : un import de 5 000 cartes dans une liste ne coûte qu'une requête, ou aucune si l'appelant a déjà
+ * vérifié les droits sur ces listes ({@link #remember}).
+ */
+@Component
+public class ListOwnerResolver {
+
+    private final KanbanListRepository listRepository;
+
+    public ListOwnerResolver(KanbanListRepository listRepository) {
+        this.listRepository = listRepository;
+    }
+
+    /**
+     * Propriétaire de la liste, null si elle n'existe plus
+     */
+    public Long ownerOf(Long listId) {
+        return ownersOf(List.of(listId)).get(listId);
+    }
+
+    /**
+     * Propriétaires des listes par id ; les listes supprimées sont absentes du résultat
+     */
+    public Map<Long, Long> ownersOf(Collection<Long> listIds) {
+        Map<Long, Long> known = known();
+        List<Long> missing = listIds.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> !known.containsKey(id))
+                .distinct()
+                .toList();
+        if (!missing.isEmpty()) {
+            remember(listRepository.findOwners(missing), known);
+        }
+        Map<Long, Long> owners = new HashMap<>();
+        for (Long listId : listIds) {
+            if (listId != null && known.get(listId) != null) {
+                owners.put(listId, known.get(listId));
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Propriétaires déjà lus par l'appelant, réutilisés jusqu'à la fin de la transaction
+     */
+    public void remember(Collection<ListOwner> owners) {
+        remember(owners, known());
+    }
+
+    private static void remember(Collection<ListOwner> owners, Map<Long, Long> known) {
+        owners.forEach(owner -> known.put(owner.listId(), owner.ownerId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Long> known() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        Map<Long, Long> known = (Map<Long, Long>) TransactionSynchronizationManager.getResource(this);
+        if (known == null) {
+            known = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, known);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResource(ListOwnerResolver.this);
+                }
+            });
+        }
+        return known;
+    }
+}
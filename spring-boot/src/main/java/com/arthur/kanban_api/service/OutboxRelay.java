@@ -0,0 +1,101 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.OutboxEvent;
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Relais de l'outbox : verrouille des lots d'événements (SKIP LOCKED, plusieurs instances possibles),
+ * les publie sur les topics kanban.* puis les supprime en une requête, dans la même transaction.
+ * Si Redis échoue, la transaction est annulée et le lot sera repris au prochain passage.
+ * <p>
+ * Le relais tourne périodiquement et est aussi réveillé après chaque commit ; les réveils concurrents
+ * sont fusionnés en un seul passage par nœud.
+ */
+@Component
+@ConditionalOnProperty(name = "app.events.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository repository;
+    private final EventPublishingPipeline pipeline;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final ReentrantLock running = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository repository,
+                       EventPublishingPipeline pipeline,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${app.events.outbox.batch-size:200}") int batchSize) {
+        this.repository = repository;
+        this.pipeline = pipeline;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        flushRequested.set(true);
+        // Si un passage est déjà en cours, il verra la demande et repassera après avoir rendu le verrou
+        while (flushRequested.get() && running.tryLock()) {
+            try {
+                flushRequested.set(false);
+                relayAll();
+            } finally {
+                running.unlock();
+            }
+        }
+    }
+
+    private void relayAll() {
+        try {
+            int relayed;
+            do {
+                Integer count = transactionTemplate.execute(status -> relayBatch());
+                relayed = count != null ? count : 0;
+            } while (relayed == batchSize);
+        } catch (Exception e) {
+            logger.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> rows = repository.lockNextBatch(batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<EventPublishingPipeline.Outgoing> outgoing = new ArrayList<>(rows.size());
+        for (OutboxEvent row : rows) {
+            try {
+                outgoing.add(new EventPublishingPipeline.Outgoing(
+                        row.getTopic(), objectMapper.readValue(row.getPayload(), KanbanEvent.class)));
+            } catch (Exception e) {
+                // Ligne illisible : on la supprime plutôt que de bloquer le relais
+                logger.error("Discarding unreadable outbox event {}: {}", row.getId(), e.getMessage());
+            }
+        }
+        pipeline.publishNow(outgoing);
+        repository.deleteAllByIdInBatch(rows.stream().map(OutboxEvent::getId).toList());
+        return rows.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.OutboxEvent;
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Écriture des événements Kanban dans l'outbox, au sein de la transaction de la modification métier :
+ * l'événement n'existe que si l'écriture est validée, et il sera publié même si Redis est indisponible
+ */
+@Service
+public class OutboxService {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String eventType, Map<String, Object> data, Map<String, Object> metadata) {
+        KanbanEvent event = new KanbanEvent(eventType, data, metadata);
+        OutboxEvent row = new OutboxEvent();
+        row.setEventType(eventType);
+        row.setTopic(EventPublisherService.topicFor(eventType));
+        try {
+            row.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation de l'événement " + eventType + " impossible", e);
+        }
+        repository.save(row);
+    }
+}
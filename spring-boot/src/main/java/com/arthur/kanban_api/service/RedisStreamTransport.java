@@ -0,0 +1,92 @@
+package com.arthur.kanban_api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Transport Redis Streams pour les topics qui doivent survivre à un redémarrage des consommateurs.
+ * <p>
+ * La clé du stream est le nom du topic (ex: kanban.cardcreated) ; chaque entrée porte le payload encodé
+ * dans le champ {@code event}. Les streams sont tronqués approximativement (MAXLEN ~) et le groupe de
+ * consommateurs est créé (MKSTREAM) avant la première écriture : les événements publiés avant le
+ * démarrage des workers leur sont donc livrés.
+ */
+class RedisStreamTransport {
+
+    static final byte[] EVENT_FIELD = "event".getBytes(StandardCharsets.UTF_8);
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisStreamTransport.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Set<String> topics;
+    private final boolean allTopics;
+    private final String group;
+    private final XAddOptions addOptions;
+    private final Set<String> preparedStreams = ConcurrentHashMap.newKeySet();
+
+    RedisStreamTransport(RedisTemplate<String, Object> redisTemplate, Collection<String> topics,
+                         String group, long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.topics = topics.stream().map(String::trim).filter(t -> !t.isEmpty()).collect(Collectors.toSet());
+        this.allTopics = this.topics.contains("*");
+        this.group = group;
+        this.addOptions = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+    }
+
+    /**
+     * Indique si le topic est routé vers un stream plutôt que vers le pub/sub
+     */
+    boolean handles(String topic) {
+        return allTopics || topics.contains(topic);
+    }
+
+    /**
+     * Crée le groupe de consommateurs des streams pas encore vus par ce nœud (hors pipeline)
+     */
+    void prepare(List<String> batchTopics) {
+        for (String topic : batchTopics) {
+            if (handles(topic) && !preparedStreams.contains(topic)) {
+                createGroup(topic);
+                preparedStreams.add(topic);
+            }
+        }
+    }
+
+    private void createGroup(String stream) {
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> connection.streamCommands().xGroupCreate(
+                    stream.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("0"), true));
+            logger.info("Created consumer group {} on stream {}", group, stream);
+        } catch (Exception e) {
+            // BUSYGROUP : le groupe existe déjà (autre nœud, redémarrage)
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * XADD dans le pipeline courant
+     */
+    void append(RedisConnection connection, String topic, byte[] payload) {
+        connection.streamCommands().xAdd(
+                StreamRecords.rawBytes(Map.of(EVENT_FIELD, payload)).withStreamKey(topic.getBytes(StandardCharsets.UTF_8)),
+                addOptions);
+    }
+}
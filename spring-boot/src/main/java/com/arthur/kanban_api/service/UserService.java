@@ -1,8 +1,10 @@
 package com.arthur.kanban_api.service;
 
+import com.arthur.kanban_api.dto.UserResponse;
 import com.arthur.kanban_api.entity.User;
 import com.arthur.kanban_api.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,6 +26,18 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<UserResponse> findResponseById(Long id) {
+        return userRepository.findResponseById(id);
+    }
+
+    /**
+     * Référence paresseuse (aucune requête) pour rattacher une entité à l'utilisateur courant
+     */
+    public User getReference(Long id) {
+        return userRepository.getReferenceById(id);
+    }
+
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
@@ -0,0 +1,58 @@
+package com.arthur.kanban_api.controller;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.dto.CardResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ETagsTest {
+
+    @Test
+    void ifMatchComparesStrongVersions() {
+        assertTrue(ETags.matches(null, 3L));
+        assertTrue(ETags.matches("*", 3L));
+        assertTrue(ETags.matches("\"2\", \"3\"", 3L));
+        assertFalse(ETags.matches("\"2\"", 3L));
+        assertFalse(ETags.matches("W/\"3\"", 3L));
+    }
+
+    @Test
+    void onlyPreciseIfMatchMakesWriteConditional() {
+        assertFalse(ETags.conditional(null));
+        assertFalse(ETags.conditional("*"));
+        assertTrue(ETags.conditional("\"3\""));
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = ETags.of(4L);
+        assertTrue(ETags.notModified("W/\"4\"", etag));
+        assertTrue(ETags.notModified(etag, etag));
+        assertFalse(ETags.notModified(null, etag));
+        assertFalse(ETags.notModified("\"5\"", etag));
+    }
+
+    @Test
+    void boardETagChangesWithAnyCard() {
+        List<BoardListResponse> board = board(card(10L, 0L), card(11L, 0L));
+
+        assertEquals(ETags.ofBoard(board), ETags.ofBoard(board(card(10L, 0L), card(11L, 0L))));
+        assertNotEquals(ETags.ofBoard(board), ETags.ofBoard(board(card(10L, 1L), card(11L, 0L))));
+        assertNotEquals(ETags.ofBoard(board), ETags.ofBoard(board(card(10L, 0L))));
+        assertNotEquals(ETags.ofBoard(board), ETags.ofBoard(board(card(11L, 0L), card(10L, 0L))));
+    }
+
+    private static List<BoardListResponse> board(CardResponse... cards) {
+        return List.of(new BoardListResponse(1L, "À faire", 0, 7L, null, null, 0L, List.of(cards)));
+    }
+
+    private static CardResponse card(Long id, Long version) {
+        return new CardResponse(id, "Carte", null, 1024, 1L, 7L, null, null, version);
+    }
+}
@@ -0,0 +1,80 @@
+package com.arthur.kanban_api.repository;
+
+import com.arthur.kanban_api.dto.CardResponse;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class CardRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CardRepository repository;
+
+    @Test
+    void keysetPagesVisitEveryCardOnceInOrder() {
+        Long listId = seedList(25);
+
+        List<CardResponse> visited = new ArrayList<>();
+        List<CardResponse> page = repository.findPage(listId, Limit.of(10));
+        while (!page.isEmpty()) {
+            visited.addAll(page);
+            CardResponse last = page.get(page.size() - 1);
+            page = repository.findPageAfter(listId, last.getPosition(), last.getId(), Limit.of(10));
+        }
+
+        assertEquals(25, visited.size());
+        for (int i = 1; i < visited.size(); i++) {
+            CardResponse previous = visited.get(i - 1);
+            CardResponse current = visited.get(i);
+            // Positions en double : l'id départage
+            boolean ordered = previous.getPosition() < current.getPosition()
+                    || (previous.getPosition().equals(current.getPosition()) && previous.getId() < current.getId());
+            assertTrue(ordered);
+        }
+    }
+
+    private Long seedList(int cards) {
+        User owner = new User();
+        owner.setEmail("pages@example.com");
+        owner.setPassword("Motdepasse123");
+        owner.setRole("ROLE_USER");
+        entityManager.persist(owner);
+
+        KanbanList list = new KanbanList();
+        list.setTitle("Liste");
+        list.setPosition(0);
+        list.setOwner(owner);
+        entityManager.persist(list);
+
+        for (int i = 0; i < cards; i++) {
+            Card card = new Card();
+            card.setTitle("Carte " + i);
+            card.setPosition(i / 3);
+            card.setList(list);
+            card.setOwner(owner);
+            entityManager.persist(card);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return list.getId();
+    }
+}
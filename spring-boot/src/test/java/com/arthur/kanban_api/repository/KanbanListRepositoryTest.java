@@ -0,0 +1,123 @@
+package com.arthur.kanban_api.repository;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.service.KanbanListService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(KanbanListService.class)
+class KanbanListRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private KanbanListService listService;
+
+    @Autowired
+    private KanbanListRepository listRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void boardIsLoadedWithConstantQueryCount() {
+        Long smallOwner = seedBoard("small@example.com", 2, 3);
+        Long largeOwner = seedBoard("large@example.com", 60, 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Une requête pour les listes, une pour toutes leurs cartes, quel que soit le nombre de listes
+        assertEquals(2, countBoardStatements(smallOwner, 2, 3));
+        assertEquals(2, countBoardStatements(largeOwner, 60, 5));
+    }
+
+    @Test
+    void deleteChecksTheVersionReadBeforehand() {
+        Long ownerId = seedBoard("stale@example.com", 1, 3);
+        entityManager.flush();
+        entityManager.clear();
+        Long listId = listRepository.findResponsesByOwnerId(ownerId).get(0).getId();
+        KanbanList read = listRepository.findById(listId).orElseThrow();
+        Long readVersion = read.getVersion();
+
+        // Modification concurrente entre la lecture (contrôle If-Match) et la suppression
+        entityManager.getEntityManager()
+                .createQuery("update KanbanList l set l.version = l.version + 1 where l.id = :id")
+                .setParameter("id", listId)
+                .executeUpdate();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> listService.delete(read, readVersion));
+        entityManager.clear();
+        assertTrue(listRepository.existsById(listId));
+    }
+
+    private long countBoardStatements(Long ownerId, int expectedLists, int expectedCardsPerList) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<BoardListResponse> board = listService.findBoard(ownerId);
+        assertEquals(expectedLists, board.size());
+        for (BoardListResponse list : board) {
+            assertEquals(expectedCardsPerList, list.getCards().size());
+        }
+        // Projections : aucune entité chargée dans le contexte de persistance
+        assertEquals(0, statistics.getEntityLoadCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long seedBoard(String email, int lists, int cardsPerList) {
+        User owner = new User();
+        owner.setEmail(email);
+        owner.setPassword("Motdepasse123");
+        owner.setRole("ROLE_USER");
+        entityManager.persist(owner);
+
+        for (int i = 0; i < lists; i++) {
+            KanbanList list = new KanbanList();
+            list.setTitle("Liste " + i);
+            list.setPosition(i);
+            list.setOwner(owner);
+            entityManager.persist(list);
+
+            for (int j = 0; j < cardsPerList; j++) {
+                Card card = new Card();
+                card.setTitle("Carte " + j);
+                card.setPosition(j);
+                card.setList(list);
+                card.setOwner(owner);
+                entityManager.persist(card);
+            }
+        }
+        return owner.getId();
+    }
+}
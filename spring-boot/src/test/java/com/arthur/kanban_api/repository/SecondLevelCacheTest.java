@@ -0,0 +1,102 @@
+package com.arthur.kanban_api.repository;
+
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Chaque appel de repository a sa propre transaction (pas de transaction de test) : les lectures
+ * passent donc par le cache de second niveau comme entre deux requêtes HTTP.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private KanbanListRepository listRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        listRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void userIsFoundByEmailWithoutQuery() {
+        User user = userRepository.save(newUser("cached@example.com"));
+        statistics.clear();
+
+        assertEquals(user.getId(), userRepository.findByEmail("cached@example.com").orElseThrow().getId());
+        assertEquals(user.getId(), userRepository.findById(user.getId()).orElseThrow().getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void changedEmailIsResolvedToTheSameUser() {
+        User user = userRepository.save(newUser("before@example.com"));
+        user.setEmail("after@example.com");
+        userRepository.save(user);
+
+        assertTrue(userRepository.findByEmail("before@example.com").isEmpty());
+        assertEquals(user.getId(), userRepository.findByEmail("after@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void listIsReadFromCacheAfterFirstLoad() {
+        User owner = userRepository.save(newUser("owner@example.com"));
+        KanbanList list = new KanbanList();
+        list.setTitle("À faire");
+        list.setPosition(0);
+        list.setOwner(owner);
+        Long listId = listRepository.save(list).getId();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        listRepository.findById(listId).orElseThrow();
+        listRepository.findById(listId).orElseThrow();
+
+        // Premier chargement en base, le second depuis la région "lists"
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("Motdepasse123");
+        user.setRole("ROLE_USER");
+        return user;
+    }
+}
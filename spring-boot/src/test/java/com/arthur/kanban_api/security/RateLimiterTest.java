@@ -0,0 +1,126 @@
+package com.arthur.kanban_api.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final RateLimiter.Policy POLICY = new RateLimiter.Policy("write", 50, 60);
+
+    /**
+     * Seau Redis simulé : réponses du script Lua dans l'ordre, appels comptés
+     */
+    private static final class ScriptedLimiter extends RateLimiter {
+        private final Deque<long[]> leases = new ArrayDeque<>();
+        private int calls;
+
+        ScriptedLimiter() {
+            super(null, 60_000, 1000);
+        }
+
+        @Override
+        long[] lease(String key, Policy policy, int requested) {
+            calls++;
+            long[] next = leases.poll();
+            if (next == null) {
+                throw new RedisConnectionFailureException("indisponible");
+            }
+            return next;
+        }
+    }
+
+    @Test
+    void consumesLeasedTokensWithoutCallingRedis() {
+        ScriptedLimiter limiter = new ScriptedLimiter();
+        limiter.leases.add(new long[] {5, 0});
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(POLICY, "user:1").allowed());
+        }
+        assertEquals(1, limiter.calls);
+    }
+
+    @Test
+    void refusalIsRememberedUntilRetryAfter() {
+        ScriptedLimiter limiter = new ScriptedLimiter();
+        limiter.leases.add(new long[] {0, 30_000});
+
+        RateLimiter.Decision first = limiter.tryAcquire(POLICY, "ip:10.0.0.1");
+        RateLimiter.Decision second = limiter.tryAcquire(POLICY, "ip:10.0.0.1");
+
+        assertFalse(first.allowed());
+        assertEquals(30_000, first.retryAfterMillis());
+        assertFalse(second.allowed());
+        assertTrue(second.retryAfterMillis() > 0);
+        assertEquals(1, limiter.calls);
+    }
+
+    @Test
+    void fallsBackToNodeLocalBucketWhenRedisIsDown() {
+        ScriptedLimiter limiter = new ScriptedLimiter();
+
+        int allowed = 0;
+        for (int i = 0; i < 60; i++) {
+            if (limiter.tryAcquire(POLICY, "user:2").allowed()) {
+                allowed++;
+            }
+        }
+        // Capacité de la politique appliquée par le nœud seul ; Redis n'est plus sollicité après l'échec
+        assertEquals(50, allowed);
+        assertEquals(1, limiter.calls);
+    }
+
+    @Test
+    void concurrentRequestsShareASingleLeaseOutsideTheLock() throws Exception {
+        CountDownLatch leaseStarted = new CountDownLatch(1);
+        CountDownLatch releaseLease = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        RateLimiter limiter = new RateLimiter(null, 60_000, 1000) {
+            @Override
+            long[] lease(String key, Policy policy, int requested) {
+                calls.incrementAndGet();
+                if (key.endsWith(":user:3")) {
+                    leaseStarted.countDown();
+                    try {
+                        releaseLease.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return new long[] {5, 0};
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Future<RateLimiter.Decision> first = executor.submit(() -> limiter.tryAcquire(POLICY, "user:3"));
+            assertTrue(leaseStarted.await(5, TimeUnit.SECONDS));
+            Future<RateLimiter.Decision> second = executor.submit(() -> limiter.tryAcquire(POLICY, "user:3"));
+            // Autre clé : servie pendant que la réservation de user:3 attend Redis
+            assertTrue(executor.submit(() -> limiter.tryAcquire(POLICY, "user:4")).get(5, TimeUnit.SECONDS).allowed());
+            assertFalse(second.isDone());
+
+            releaseLease.countDown();
+
+            assertTrue(first.get(5, TimeUnit.SECONDS).allowed());
+            assertTrue(second.get(5, TimeUnit.SECONDS).allowed());
+            // Une réservation pour user:3, partagée par les deux requêtes, et une pour user:4
+            assertEquals(2, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.arthur.kanban_api.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RefreshTokenStoreTest {
+
+    private static final AuthenticatedUser USER = new AuthenticatedUser(1L, "alice@example.com", null, "ROLE_USER", 0);
+
+    private final JwtService jwtService = new JwtService("secret-de-test-suffisamment-long-32-octets", 60_000, 600_000, 0);
+
+    /**
+     * Magasin Redis simulé par une map (les TTL ne sont pas appliqués)
+     */
+    private static final class InMemoryStore extends RefreshTokenStore {
+        final Map<String, String> values = new HashMap<>();
+
+        InMemoryStore(JwtService jwtService) {
+            super(null, jwtService);
+        }
+
+        @Override
+        String consume(String key) {
+            return values.remove(key);
+        }
+
+        @Override
+        boolean markUsed(String key, Duration expiry) {
+            return values.putIfAbsent(key, "1") == null;
+        }
+
+        @Override
+        boolean exists(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        void store(String key, String value, Duration expiry) {
+            values.put(key, value);
+        }
+
+        @Override
+        void delete(String key) {
+            values.remove(key);
+        }
+    }
+
+    private final InMemoryStore store = new InMemoryStore(jwtService);
+
+    @Test
+    void rotationIssuesTheNextTokenOfTheSameFamily() {
+        RefreshTokenStore.TokenPair login = store.issue(USER);
+
+        Optional<RefreshTokenStore.TokenPair> next = rotate(login.refreshToken());
+
+        assertTrue(next.isPresent());
+        Claims previous = jwtService.parseClaims(login.refreshToken());
+        Claims rotated = jwtService.parseClaims(next.get().refreshToken());
+        assertTrue(jwtService.isRefreshToken(rotated));
+        assertNotEquals(previous.getId(), rotated.getId());
+        assertEquals(jwtService.extractFamily(previous), jwtService.extractFamily(rotated));
+        assertTrue(rotate(next.get().refreshToken()).isPresent());
+    }
+
+    @Test
+    void reusedTokenRevokesTheWholeFamily() {
+        RefreshTokenStore.TokenPair login = store.issue(USER);
+        RefreshTokenStore.TokenPair next = rotate(login.refreshToken()).orElseThrow();
+
+        // Jeton volé rejoué après la rotation légitime : refusé, et le jeton légitime suivant aussi
+        assertFalse(rotate(login.refreshToken()).isPresent());
+        assertFalse(rotate(next.refreshToken()).isPresent());
+    }
+
+    @Test
+    void revokedFamilyNoLongerRotates() {
+        RefreshTokenStore.TokenPair login = store.issue(USER);
+        RefreshTokenStore.TokenPair other = store.issue(USER);
+
+        store.revokeFamily(jwtService.extractFamily(jwtService.parseClaims(login.refreshToken())));
+
+        assertFalse(rotate(login.refreshToken()).isPresent());
+        // Les autres connexions de l'utilisateur restent ouvertes
+        assertTrue(rotate(other.refreshToken()).isPresent());
+    }
+
+    @Test
+    void legacyTokenOpensAFamilyOnlyOnce() {
+        String legacy = jwtService.generateRefreshToken(USER, null, null);
+
+        Optional<RefreshTokenStore.TokenPair> first = rotate(legacy);
+
+        assertTrue(first.isPresent());
+        assertNotNull(jwtService.extractFamily(jwtService.parseClaims(first.get().refreshToken())));
+        assertFalse(rotate(legacy).isPresent());
+    }
+
+    private Optional<RefreshTokenStore.TokenPair> rotate(String refreshToken) {
+        return store.rotate(refreshToken, jwtService.parseClaims(refreshToken), USER);
+    }
+}
@@ -0,0 +1,138 @@
+package com.arthur.kanban_api.security;
+
+import com.arthur.kanban_api.controller.UserController;
+import com.arthur.kanban_api.dto.UpdateUserRequest;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.repository.UserRepository;
+import com.arthur.kanban_api.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mode JWT sans état : les jetons émis avant un changement de rôle ou de mot de passe sont refusés
+ * (version de jeton), et un refresh token ne vaut pas jeton d'accès
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({UserService.class, CustomUserDetailsService.class, TokenVersionRegistry.class, CacheLoading.class})
+class StatelessRevocationTest {
+
+    private static final AuthenticatedUser ADMIN =
+            new AuthenticatedUser(999L, "admin@example.com", null, "ROLE_ADMIN", 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    private final JwtService jwtService = new JwtService("secret-de-test-suffisamment-long-32-octets", 60_000, 600_000, 0);
+
+    private JwtAuthenticationFilter filter;
+    private UserController userController;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenVersions,
+                new AccessTokenDenylist(null, 1000, 0.01), new SimpleMeterRegistry(), true);
+        userController = new UserController(userService, new BCryptPasswordEncoder(4), userDetailsService,
+                tokenVersions);
+
+        user = new User();
+        user.setEmail("alice@example.com");
+        user.setPassword("Motdepasse123");
+        user.setRole("ROLE_USER");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenIssuedBeforeARoleChangeIsRejected() throws Exception {
+        String token = jwtService.generateToken(principal());
+        assertTrue(authenticates(token));
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setRole("ROLE_ADMIN");
+        assertEquals(200, userController.update(user.getId(), request, ADMIN).getStatusCode().value());
+
+        // Le jeton porte encore ROLE_USER et l'ancienne version
+        assertFalse(authenticates(token));
+        assertTrue(authenticates(jwtService.generateToken(principal())));
+    }
+
+    @Test
+    void tokenIssuedBeforeAPasswordChangeIsRejected() throws Exception {
+        String token = jwtService.generateToken(principal());
+        assertTrue(authenticates(token));
+
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setPassword("NouveauMotdepasse456");
+        assertEquals(200, userController.update(user.getId(), request, principal()).getStatusCode().value());
+
+        assertFalse(authenticates(token));
+        // Un autre nœud, sans la version en mémoire, la relit en base
+        TokenVersionRegistry otherNode = new TokenVersionRegistry(userRepository, new CacheLoading(false),
+                100, Duration.ofSeconds(30));
+        assertFalse(otherNode.isCurrent(user.getId(), 0));
+    }
+
+    @Test
+    void refreshTokenIsNotAnAccessToken() throws Exception {
+        String refreshToken = jwtService.generateRefreshToken(principal(), UUID.randomUUID().toString(),
+                UUID.randomUUID().toString());
+
+        assertFalse(authenticates(refreshToken));
+        assertTrue(authenticates(jwtService.generateToken(principal())));
+    }
+
+    private AuthenticatedUser principal() {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), null, user.getRole(), user.getTokenVersion());
+    }
+
+    private boolean authenticates(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/me");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+        SecurityContextHolder.clearContext();
+        return authenticated;
+    }
+}
@@ -0,0 +1,155 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.event.CardChangedEvent;
+import com.arthur.kanban_api.event.KanbanEvent;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Invalidation du cache des tableaux : garde de génération et propriétaire de la liste
+ */
+class BoardCacheTest {
+
+    private static final Long OWNER = 7L;
+    private static final Long ADMIN = 1L;
+    private static final Long LIST = 3L;
+
+    /**
+     * Lecture en base comptée ; {@code duringLoad} simule un commit concurrent de la requête
+     */
+    private static final class CountingListService extends KanbanListService {
+        int loads;
+        Runnable duringLoad;
+
+        CountingListService() {
+            super(null, null, null);
+        }
+
+        @Override
+        public List<BoardListResponse> findBoard(Long ownerId) {
+            loads++;
+            if (duringLoad != null) {
+                Runnable hook = duringLoad;
+                duringLoad = null;
+                hook.run();
+            }
+            return List.of(new BoardListResponse(LIST, "À faire", 0, ownerId, Instant.EPOCH, null, 0L, List.of()));
+        }
+    }
+
+    private static final class FixedListOwners extends ListOwnerResolver {
+        FixedListOwners() {
+            super(null);
+        }
+
+        @Override
+        public Map<Long, Long> ownersOf(Collection<Long> listIds) {
+            return listIds.contains(LIST) ? Map.of(LIST, OWNER) : Map.of();
+        }
+    }
+
+    private static final class NoSubscriber extends KanbanEventSubscriber {
+        NoSubscriber() {
+            super(null, null);
+        }
+
+        @Override
+        public void register(Consumer<KanbanEvent> handler) {
+        }
+    }
+
+    /**
+     * Redis simulé : MGET et les deux scripts Lua reproduits sur une map
+     */
+    private static final class InMemoryBoardCache extends BoardCache {
+        final Map<String, byte[]> values = new HashMap<>();
+
+        InMemoryBoardCache(KanbanListService listService) {
+            super(listService, new FixedListOwners(), null, new NoSubscriber(), true,
+                    Duration.ofMinutes(5), 100, Duration.ofMinutes(1));
+        }
+
+        @Override
+        List<byte[]> mGet(byte[]... keys) {
+            List<byte[]> result = new ArrayList<>();
+            for (byte[] key : keys) {
+                result.add(values.get(string(key)));
+            }
+            return result;
+        }
+
+        @Override
+        Long eval(byte[] script, byte[]... keysAndArgs) {
+            String snapshotKey = string(keysAndArgs[0]);
+            String generationKey = string(keysAndArgs[1]);
+            String generation = values.containsKey(generationKey) ? string(values.get(generationKey)) : "0";
+            if (script == WRITE_IF_CURRENT) {
+                if (!generation.equals(string(keysAndArgs[2]))) {
+                    return 0L;
+                }
+                values.put(snapshotKey, keysAndArgs[3]);
+                return 1L;
+            }
+            if (script == EVICT) {
+                values.put(generationKey, String.valueOf(Long.parseLong(generation) + 1).getBytes(StandardCharsets.UTF_8));
+                return values.remove(snapshotKey) != null ? 1L : 0L;
+            }
+            throw new IllegalArgumentException("Script inconnu : " + Arrays.toString(script));
+        }
+
+        byte[] snapshot(Long ownerId) {
+            return values.get("board:{" + ownerId + "}");
+        }
+
+        private static String string(byte[] bytes) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private final CountingListService listService = new CountingListService();
+    private final InMemoryBoardCache cache = new InMemoryBoardCache(listService);
+
+    @Test
+    void boardReadBeforeAnEvictionIsNotWrittenBack() {
+        // Le commit (et son invalidation) arrive pendant la requête en base
+        listService.duringLoad = () -> cache.evict(OWNER);
+
+        cache.get(OWNER);
+
+        assertNull(cache.snapshot(OWNER));
+        // Ni Redis ni le cache mémoire ne servent le tableau périmé : la lecture suivante repasse par la base
+        cache.get(OWNER);
+        assertEquals(2, listService.loads);
+        assertNotNull(cache.snapshot(OWNER));
+        cache.get(OWNER);
+        assertEquals(2, listService.loads);
+    }
+
+    @Test
+    void cardChangedByAnAdminEvictsTheListOwnersBoard() {
+        cache.get(OWNER);
+        assertNotNull(cache.snapshot(OWNER));
+
+        // Carte de l'admin dans la liste du propriétaire
+        cache.onCardChanged(new CardChangedEvent(CardChangedEvent.Type.UPDATED, 10L, "Carte", LIST, null, 1024, ADMIN));
+
+        assertNull(cache.snapshot(OWNER));
+        cache.get(OWNER);
+        assertEquals(2, listService.loads);
+    }
+}
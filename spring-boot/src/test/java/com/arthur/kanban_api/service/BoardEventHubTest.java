@@ -0,0 +1,221 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardEventHubTest {
+
+    private static final Duration NO_HEARTBEAT = Duration.ofHours(1);
+    private static final int SENDER_THREADS = 2;
+
+    /**
+     * Flux SSE enregistré : chaque envoi est rendu en texte (lignes id:, event:, data: ou commentaire)
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> frames = new LinkedBlockingQueue<>();
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            frames.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            return frames.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Client lent : le premier envoi reste bloqué jusqu'à la fermeture de la connexion
+     */
+    private static class StalledEmitter extends RecordingEmitter {
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new IOException("connexion fermée");
+            }
+        }
+    }
+
+    /**
+     * Abonnement Redis remplacé par un appel direct au handler enregistré par le hub
+     */
+    private static class DirectSubscriber extends KanbanEventSubscriber {
+        Consumer<KanbanEvent> handler;
+
+        DirectSubscriber() {
+            super(null, null);
+        }
+
+        @Override
+        public void register(Consumer<KanbanEvent> handler) {
+            this.handler = handler;
+        }
+    }
+
+    private static class TestHub extends BoardEventHub {
+        RecordingEmitter nextEmitter;
+
+        TestHub(DirectSubscriber subscriber, Duration heartbeat, int replaySize, int clientBufferSize) {
+            this(subscriber, heartbeat, replaySize, clientBufferSize, Duration.ofMinutes(1));
+        }
+
+        TestHub(DirectSubscriber subscriber, Duration heartbeat, int replaySize, int clientBufferSize,
+                Duration sendTimeout) {
+            super(subscriber, new SimpleMeterRegistry(), Duration.ofMinutes(1), heartbeat, replaySize, clientBufferSize,
+                    SENDER_THREADS, sendTimeout);
+        }
+
+        @Override
+        SseEmitter createEmitter(Duration timeout) {
+            RecordingEmitter emitter = nextEmitter != null ? nextEmitter : new RecordingEmitter();
+            nextEmitter = null;
+            return emitter;
+        }
+
+        RecordingEmitter connectRecording(Long userId, String lastEventId) {
+            return (RecordingEmitter) connect(userId, lastEventId);
+        }
+    }
+
+    private final DirectSubscriber subscriber = new DirectSubscriber();
+
+    @Test
+    void liveEventsReachOnlyTheirOwner() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 100, 16);
+        RecordingEmitter alice = hub.connectRecording(1L, null);
+        RecordingEmitter bob = hub.connectRecording(2L, null);
+
+        KanbanEvent event = publish(1L);
+
+        String frame = alice.next();
+        assertTrue(frame.contains("id:" + event.getEventId()), frame);
+        assertTrue(frame.contains("event:CardCreated"), frame);
+        assertNull(bob.frames.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void reconnectReplaysEventsAfterLastEventId() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 100, 16);
+        hub.connectRecording(1L, null);
+        KanbanEvent first = publish(1L);
+        publish(2L);
+        KanbanEvent second = publish(1L);
+        KanbanEvent third = publish(1L);
+
+        RecordingEmitter reconnected = hub.connectRecording(1L, first.getEventId());
+
+        assertTrue(reconnected.next().contains("id:" + second.getEventId()));
+        assertTrue(reconnected.next().contains("id:" + third.getEventId()));
+        assertNull(reconnected.frames.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void lastEventIdOutsideTheBufferTriggersResync() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 2, 16);
+        hub.connectRecording(1L, null);
+        KanbanEvent evicted = publish(1L);
+        publish(1L);
+        publish(1L);
+
+        RecordingEmitter reconnected = hub.connectRecording(1L, evicted.getEventId());
+
+        String frame = reconnected.next();
+        assertTrue(frame.contains("event:" + BoardEventHub.RESYNC_EVENT), frame);
+    }
+
+    @Test
+    void slowClientIsClosedWithoutAffectingOthers() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 100, 4);
+        hub.nextEmitter = new StalledEmitter();
+        RecordingEmitter slow = hub.connectRecording(1L, null);
+        RecordingEmitter fast = hub.connectRecording(1L, null);
+
+        // Client lent : au plus un événement bloqué dans l'envoi et quatre en file, le sixième déborde.
+        // Le client rapide reçoit chaque événement avant le suivant
+        for (int i = 0; i < 6; i++) {
+            publish(1L);
+            assertNotNull(fast.next());
+        }
+
+        assertTrue(slow.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, hub.connectedClients());
+    }
+
+    @Test
+    void stalledSendIsClosedAfterTheSendTimeout() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 100, 16, Duration.ofMillis(100));
+        hub.nextEmitter = new StalledEmitter();
+        RecordingEmitter stalled = hub.connectRecording(1L, null);
+
+        // Un seul événement : la file ne déborde pas, c'est la durée de l'envoi qui ferme la connexion
+        publish(1L);
+
+        assertTrue(stalled.completed.await(5, TimeUnit.SECONDS));
+        assertEquals(0, hub.connectedClients());
+    }
+
+    @Test
+    void manyStreamsShareTheSenderPool() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, NO_HEARTBEAT, 100, 16);
+        List<RecordingEmitter> emitters = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            emitters.add(hub.connectRecording(1L, null));
+        }
+
+        KanbanEvent event = publish(1L);
+
+        // 200 flux servis par les SENDER_THREADS threads du pool, aucun thread par connexion
+        for (RecordingEmitter emitter : emitters) {
+            String frame = emitter.next();
+            assertNotNull(frame);
+            assertTrue(frame.contains("id:" + event.getEventId()), frame);
+        }
+    }
+
+    @Test
+    void idleStreamReceivesHeartbeats() throws InterruptedException {
+        TestHub hub = new TestHub(subscriber, Duration.ofMillis(50), 100, 16);
+        RecordingEmitter emitter = hub.connectRecording(1L, null);
+
+        String frame = emitter.next();
+        assertNotNull(frame);
+        assertTrue(frame.startsWith(":heartbeat"), frame);
+    }
+
+    private KanbanEvent publish(Long userId) {
+        KanbanEvent event = new KanbanEvent("CardCreated", Map.of("cardId", 1L), Map.of("userId", userId));
+        subscriber.handler.accept(event);
+        return event;
+    }
+}
@@ -0,0 +1,48 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.BoardListResponse;
+import com.arthur.kanban_api.dto.CardResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardSnapshotCodecTest {
+
+    private final BoardSnapshotCodec codec = new BoardSnapshotCodec();
+
+    @Test
+    void roundTripKeepsEveryField() throws Exception {
+        List<BoardListResponse> board = board();
+
+        List<BoardListResponse> decoded = codec.decode(codec.encode(board), 7L);
+
+        // Même rendu JSON que la réponse lue en base, dates à la microseconde comprises
+        ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+        assertEquals(json.writeValueAsString(board), json.writeValueAsString(decoded));
+    }
+
+    @Test
+    void snapshotIsSmallerThanJsonResponse() throws Exception {
+        List<BoardListResponse> board = board();
+
+        byte[] json = new ObjectMapper().registerModule(new JavaTimeModule()).writeValueAsBytes(board);
+        assertTrue(codec.encode(board).length < json.length / 2);
+    }
+
+    private static List<BoardListResponse> board() {
+        Instant created = Instant.parse("2025-03-01T10:15:30.123456Z");
+        Instant updated = Instant.parse("2025-03-02T08:00:00.000001Z");
+        return List.of(
+                new BoardListResponse(1L, "À faire", 0, 7L, created, updated, 2L, List.of(
+                        new CardResponse(10L, "Carte 1", "Description", 1024, 1L, 7L, created, updated, 3L),
+                        new CardResponse(11L, "Carte 2", null, 2048, 1L, 7L, created, null, 0L))),
+                new BoardListResponse(2L, "Terminé", 1, 7L, created, null, 0L, List.of())
+        );
+    }
+}
@@ -0,0 +1,135 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BoardTransferService.class, UserService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BoardTransferServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BoardTransferService service;
+
+    @Test
+    void exportedBoardCanBeImportedBack() throws Exception {
+        Long source = newUser("source@example.com");
+        service.importBoard(source, generatedBoard(3, 4));
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        service.export(source, exported);
+        String ndjson = exported.toString(StandardCharsets.UTF_8);
+        assertEquals(3 + 3 * 4, ndjson.lines().count());
+
+        Long target = newUser("target@example.com");
+        BoardTransferService.ImportResult result = service.importBoard(target, new ByteArrayInputStream(exported.toByteArray()));
+        assertEquals(3, result.lists());
+        assertEquals(12, result.cards());
+    }
+
+    @Test
+    void cardBeforeItsListIsRejected() {
+        Long owner = newUser("orphan@example.com");
+        String ndjson = "{\"type\":\"card\",\"id\":1,\"listId\":42,\"title\":\"Carte\",\"position\":1024}\n";
+        assertThrows(IllegalArgumentException.class,
+                () -> service.importBoard(owner, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * 1 000 listes × 1 000 cartes, générées et relues au fil de l'eau. Lancé par le profil Maven large-tests
+     * avec un tas réduit (-Xmx) : une matérialisation du tableau en mémoire ferait échouer le test.
+     */
+    @Test
+    @Tag("large")
+    void millionCardsRoundTripWithFlatMemory() throws Exception {
+        Long owner = newUser("large@example.com");
+        BoardTransferService.ImportResult result = service.importBoard(owner, generatedBoard(1_000, 1_000));
+        assertEquals(1_000_000, result.cards());
+
+        LineCounter counter = new LineCounter();
+        service.export(owner, counter);
+        assertEquals(1_001_000, counter.lines);
+    }
+
+    private Long newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("Motdepasse123");
+        user.setRole("ROLE_USER");
+        entityManager.persistAndFlush(user);
+        return user.getId();
+    }
+
+    /**
+     * Flux NDJSON produit ligne par ligne, sans jamais être entièrement en mémoire
+     */
+    private static InputStream generatedBoard(int lists, int cardsPerList) {
+        Iterator<InputStream> lines = IntStream.range(0, lists * (cardsPerList + 1))
+                .mapToObj(i -> {
+                    int list = i / (cardsPerList + 1);
+                    int card = i % (cardsPerList + 1);
+                    String line = card == 0
+                            ? "{\"type\":\"list\",\"id\":" + list + ",\"title\":\"Liste " + list + "\",\"position\":" + list + "}\n"
+                            : "{\"type\":\"card\",\"id\":" + i + ",\"listId\":" + list + ",\"title\":\"Carte " + card
+                                    + "\",\"description\":\"Description de la carte " + card + "\",\"position\":" + card * 1024 + "}\n";
+                    return (InputStream) new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8));
+                })
+                .iterator();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return lines.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                return lines.next();
+            }
+        });
+    }
+
+    private static final class LineCounter extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.dto.CardBatchRequest;
+import com.arthur.kanban_api.dto.CardBatchUpdate;
+import com.arthur.kanban_api.dto.CardCreateRequest;
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.repository.CardRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Import d'un lot de cartes : inserts groupés en batch JDBC (hibernate.jdbc.batch_size) et ids par séquence pooled
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardBatchService.class, CardRankRebalancer.class, ListOwnerResolver.class, UserService.class})
+class CardBatchServiceTest {
+
+    private static final int CARDS = CardBatchRequest.MAX_OPERATIONS;
+
+    // hibernate.jdbc.batch_size et allocationSize de cards_seq
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CardBatchService cardBatchService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private KanbanList list;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = new User();
+        owner.setEmail("import@example.com");
+        owner.setPassword("Motdepasse123");
+        owner.setRole("ROLE_USER");
+        entityManager.persist(owner);
+
+        list = new KanbanList();
+        list.setTitle("Import");
+        list.setPosition(0);
+        list.setOwner(owner);
+        entityManager.persist(list);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void importGroupsInsertsIntoJdbcBatches() {
+        CardBatchService.Result result = cardBatchService.apply(importRequest(list.getId()), owner.getId(), false);
+        entityManager.flush();
+
+        assertEquals(CARDS, result.created().size());
+        assertEquals(CARDS, statistics.getEntityInsertCount());
+        // Un statement par batch d'inserts et un appel de séquence par bloc d'ids, plus les contrôles :
+        // loin d'un aller-retour par carte
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(statements <= 2L * CARDS / BATCH_SIZE + 10, "statements préparés : " + statements);
+
+        entityManager.clear();
+        List<Card> imported = cardRepository.findByListIdOrderByPositionAscIdAsc(list.getId());
+        assertEquals(CARDS, imported.size());
+        assertEquals("Carte 0", imported.get(0).getTitle());
+        assertEquals("Carte " + (CARDS - 1), imported.get(CARDS - 1).getTitle());
+        assertEquals(CardRanks.at(CARDS - 1), imported.get(CARDS - 1).getPosition());
+    }
+
+    @Test
+    void foreignListRejectsTheWholeBatch() {
+        User intruder = new User();
+        intruder.setEmail("intrus@example.com");
+        intruder.setPassword("Motdepasse123");
+        intruder.setRole("ROLE_USER");
+        entityManager.persist(intruder);
+        entityManager.flush();
+
+        ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                () -> cardBatchService.apply(importRequest(list.getId()), intruder.getId(), false));
+
+        assertEquals(HttpStatus.FORBIDDEN, refused.getStatusCode());
+        assertEquals(0, cardRepository.count());
+    }
+
+    @Test
+    void rawPositionInAnUpdateIsRefused() {
+        Card card = persistCard(list, "Carte", CardRanks.at(0));
+        CardBatchUpdate update = new CardBatchUpdate();
+        update.setId(card.getId());
+        update.setTitle("Renommée");
+        update.setPosition(0);
+        CardBatchRequest request = new CardBatchRequest();
+        request.setUpdate(List.of(update));
+
+        ResponseStatusException refused = assertThrows(ResponseStatusException.class,
+                () -> cardBatchService.apply(request, owner.getId(), false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, refused.getStatusCode());
+        entityManager.clear();
+        assertEquals("Carte", cardRepository.findById(card.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void cardsMovedToAnotherListAreAppendedInRequestOrder() {
+        KanbanList done = new KanbanList();
+        done.setTitle("Terminé");
+        done.setPosition(1);
+        done.setOwner(owner);
+        entityManager.persist(done);
+        Card existing = persistCard(done, "Déjà là", CardRanks.at(0));
+        Card first = persistCard(list, "Première", CardRanks.at(0));
+        Card second = persistCard(list, "Seconde", CardRanks.at(1));
+
+        CardBatchRequest request = new CardBatchRequest();
+        request.setUpdate(List.of(moveTo(second, done), moveTo(first, done)));
+        cardBatchService.apply(request, owner.getId(), false);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Card> cards = cardRepository.findByListIdOrderByPositionAscIdAsc(done.getId());
+        assertEquals(List.of(existing.getId(), second.getId(), first.getId()),
+                cards.stream().map(Card::getId).toList());
+        assertEquals(CardRanks.at(2), cards.get(2).getPosition());
+    }
+
+    private Card persistCard(KanbanList target, String title, int position) {
+        Card card = new Card();
+        card.setTitle(title);
+        card.setPosition(position);
+        card.setList(target);
+        card.setOwner(owner);
+        entityManager.persist(card);
+        entityManager.flush();
+        return card;
+    }
+
+    private static CardBatchUpdate moveTo(Card card, KanbanList target) {
+        CardBatchUpdate update = new CardBatchUpdate();
+        update.setId(card.getId());
+        update.setListId(target.getId());
+        return update;
+    }
+
+    private static CardBatchRequest importRequest(Long listId) {
+        List<CardCreateRequest> creates = new ArrayList<>(CARDS);
+        for (int i = 0; i < CARDS; i++) {
+            CardCreateRequest create = new CardCreateRequest();
+            create.setTitle("Carte " + i);
+            create.setListId(listId);
+            creates.add(create);
+        }
+        CardBatchRequest request = new CardBatchRequest();
+        request.setCreate(creates);
+        return request;
+    }
+}
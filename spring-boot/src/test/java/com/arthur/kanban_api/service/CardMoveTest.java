@@ -0,0 +1,135 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.repository.CardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Placement d'une carte déplacée : voisine manquante déduite dans l'ordre (position, id) de la liste cible
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardService.class, CardRankRebalancer.class})
+class CardMoveTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private User owner;
+    private KanbanList list;
+    private Card first;
+    private Card second;
+    private Card third;
+    private Card moved;
+
+    @BeforeEach
+    void setUp() {
+        owner = new User();
+        owner.setEmail("move@example.com");
+        owner.setPassword("Motdepasse123");
+        owner.setRole("ROLE_USER");
+        entityManager.persist(owner);
+
+        list = newList("À faire");
+        first = newCard(list, CardRanks.at(0));
+        second = newCard(list, CardRanks.at(1));
+        third = newCard(list, CardRanks.at(2));
+        moved = newCard(newList("Terminé"), CardRanks.at(0));
+        entityManager.flush();
+    }
+
+    @Test
+    void onlyBeforeIdPlacesCardBeforeTheNextOne() {
+        // [1024, 2048, 3072] : après la première carte, c'est-à-dire entre 1024 et 2048
+        cardService.move(moved, list, first.getId(), null);
+        entityManager.flush();
+
+        assertEquals(List.of(first.getId(), moved.getId(), second.getId(), third.getId()), order());
+        assertEquals(1536, moved.getPosition());
+    }
+
+    @Test
+    void onlyAfterIdPlacesCardAfterThePreviousOne() {
+        // Avant la dernière carte, c'est-à-dire entre 2048 et 3072
+        cardService.move(moved, list, null, third.getId());
+        entityManager.flush();
+
+        assertEquals(List.of(first.getId(), second.getId(), moved.getId(), third.getId()), order());
+        assertEquals(2560, moved.getPosition());
+    }
+
+    @Test
+    void afterIdOnFirstCardPlacesCardAtTheTop() {
+        cardService.move(moved, list, null, first.getId());
+        entityManager.flush();
+
+        assertEquals(List.of(moved.getId(), first.getId(), second.getId(), third.getId()), order());
+    }
+
+    @Test
+    void nonAdjacentNeighboursAreRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> cardService.move(moved, list, first.getId(), third.getId()));
+        assertThrows(IllegalArgumentException.class,
+                () -> cardService.move(moved, list, second.getId(), first.getId()));
+    }
+
+    @Test
+    void createdCardsAreAppendedOneGapAfterTheLast() {
+        Card card = new Card();
+        card.setTitle("Nouvelle");
+        card.setList(list);
+        card.setOwner(owner);
+        // Position du client ignorée
+        card.setPosition(0);
+        cardService.create(card);
+        entityManager.flush();
+
+        assertEquals(CardRanks.at(3), card.getPosition());
+        assertEquals(card.getId(), order().get(3));
+    }
+
+    private List<Long> order() {
+        return cardRepository.findByListIdOrderByPositionAscIdAsc(list.getId()).stream().map(Card::getId).toList();
+    }
+
+    private KanbanList newList(String title) {
+        KanbanList kanbanList = new KanbanList();
+        kanbanList.setTitle(title);
+        kanbanList.setPosition(0);
+        kanbanList.setOwner(owner);
+        entityManager.persist(kanbanList);
+        return kanbanList;
+    }
+
+    private Card newCard(KanbanList target, int position) {
+        Card card = new Card();
+        card.setTitle("Carte " + position);
+        card.setPosition(position);
+        card.setList(target);
+        card.setOwner(owner);
+        entityManager.persist(card);
+        return card;
+    }
+}
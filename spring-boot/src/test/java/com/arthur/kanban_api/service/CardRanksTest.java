@@ -0,0 +1,40 @@
+package com.arthur.kanban_api.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardRanksTest {
+
+    @Test
+    void placesBetweenNeighboursWithoutTouchingThem() {
+        assertEquals(CardRanks.GAP, CardRanks.between(null, null));
+        assertEquals(3 * CardRanks.GAP, CardRanks.between(2 * CardRanks.GAP, null));
+        assertEquals(1536, CardRanks.between(1024, 2048));
+        assertEquals(511, CardRanks.between(null, 1024));
+    }
+
+    @Test
+    void reportsExhaustedGaps() {
+        assertNull(CardRanks.between(5, 6));
+        assertNull(CardRanks.between(null, 0));
+        assertNull(CardRanks.between(Integer.MAX_VALUE - 1, null));
+    }
+
+    @Test
+    void repeatedTopInsertionsFitBeforeRebalance() {
+        Integer top = CardRanks.at(0);
+        int inserts = 0;
+        Integer next;
+        while ((next = CardRanks.between(null, top)) != null) {
+            top = next;
+            inserts++;
+        }
+        assertEquals(10, inserts);
+        assertTrue(CardRanks.crowded(null, 2, 5));
+        assertFalse(CardRanks.crowded(1024, 1536, 2048));
+    }
+}
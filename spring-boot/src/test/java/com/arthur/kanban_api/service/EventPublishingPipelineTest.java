@@ -0,0 +1,175 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.event.KanbanEvent;
+import com.arthur.kanban_api.event.KanbanEventCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Contre-pression de la file d'événements et rejeu du débordement, avec un envoi Redis simulé
+ */
+class EventPublishingPipelineTest {
+
+    private static final Duration BLOCK_TIMEOUT = Duration.ofMillis(50);
+
+    @TempDir
+    Path directory;
+
+    private TestPipeline pipeline;
+
+    /**
+     * Payload = id de l'événement, pour lire directement ce qui est parti
+     */
+    private static final class EventIdCodec implements KanbanEventCodec {
+        @Override
+        public byte[] encode(KanbanEvent event) {
+            return event.getEventId().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public KanbanEvent decode(byte[] payload) {
+            KanbanEvent event = new KanbanEvent();
+            event.setEventId(new String(payload, StandardCharsets.UTF_8));
+            return event;
+        }
+    }
+
+    /**
+     * Pipeline dont l'envoi Redis est remplacé par un enregistrement ; les {@code failures} premiers envois échouent
+     */
+    private static final class TestPipeline extends EventPublishingPipeline {
+        final SimpleMeterRegistry registry;
+        final List<String> sent = new ArrayList<>();
+        int failures;
+
+        TestPipeline(SimpleMeterRegistry registry, int capacity, BackpressurePolicy policy, Path spillPath) {
+            super(null, new EventIdCodec(), registry, capacity, 10, policy, BLOCK_TIMEOUT, spillPath,
+                    Duration.ofMillis(50), List.of(), "notifications", 1000);
+            this.registry = registry;
+        }
+
+        @Override
+        synchronized void pipelinePublish(List<String> topics, List<byte[]> payloads) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Redis indisponible");
+            }
+            payloads.forEach(payload -> sent.add(new String(payload, StandardCharsets.UTF_8)));
+        }
+
+        synchronized List<String> sent() {
+            return List.copyOf(sent);
+        }
+
+        double outcome(String outcome) {
+            return registry.get("kanban.events.outcome").tag("outcome", outcome).counter().count();
+        }
+    }
+
+    @AfterEach
+    void stop() {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void blockPolicyWaitsThenDropsTheNewEvent() throws InterruptedException {
+        pipeline = pipeline(1, EventPublishingPipeline.BackpressurePolicy.BLOCK);
+        pipeline.enqueue("kanban.cardcreated", event("e1"));
+
+        long start = System.nanoTime();
+        pipeline.enqueue("kanban.cardcreated", event("e2"));
+
+        assertTrue(System.nanoTime() - start >= BLOCK_TIMEOUT.toNanos());
+        assertEquals(1, pipeline.outcome("dropped"));
+        pipeline.start();
+        assertEquals(List.of("e1"), awaitSent(1));
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() throws InterruptedException {
+        pipeline = pipeline(2, EventPublishingPipeline.BackpressurePolicy.DROP_OLDEST);
+        pipeline.enqueue("kanban.cardcreated", event("e1"));
+        pipeline.enqueue("kanban.cardcreated", event("e2"));
+        pipeline.enqueue("kanban.cardcreated", event("e3"));
+
+        assertEquals(1, pipeline.outcome("dropped"));
+        pipeline.start();
+        assertEquals(List.of("e2", "e3"), awaitSent(2));
+    }
+
+    @Test
+    void spillPolicyOverflowsToDiskAndReplaysWhenTheQueueEmpties() throws InterruptedException {
+        pipeline = pipeline(1, EventPublishingPipeline.BackpressurePolicy.SPILL);
+        pipeline.enqueue("kanban.cardcreated", event("e1"));
+        pipeline.enqueue("kanban.cardcreated", event("e2"));
+        pipeline.enqueue("kanban.cardcreated", event("e3"));
+
+        assertEquals(2, pipeline.outcome("spilled"));
+        assertTrue(Files.exists(spillPath()));
+        pipeline.start();
+        assertEquals(List.of("e1", "e2", "e3"), awaitSent(3));
+        assertEquals(0, pipeline.outcome("dropped"));
+    }
+
+    @Test
+    void failedBatchIsSpilledAndReplayed() throws InterruptedException {
+        pipeline = pipeline(10, EventPublishingPipeline.BackpressurePolicy.SPILL);
+        pipeline.failures = 1;
+        pipeline.start();
+
+        pipeline.enqueue("kanban.cardcreated", event("e1"));
+
+        // Premier envoi en échec : le lot part sur disque puis est rejoué dès que la file est vide
+        assertEquals(List.of("e1"), awaitSent(1));
+        assertEquals(1, pipeline.outcome("spilled"));
+        assertEquals(0, pipeline.outcome("failed"));
+        awaitNoPendingSpill();
+    }
+
+    private TestPipeline pipeline(int capacity, EventPublishingPipeline.BackpressurePolicy policy) {
+        return new TestPipeline(new SimpleMeterRegistry(), capacity, policy, spillPath());
+    }
+
+    private Path spillPath() {
+        return directory.resolve("events.spill");
+    }
+
+    private static KanbanEvent event(String id) {
+        KanbanEvent event = new KanbanEvent("card.created", Map.of());
+        event.setEventId(id);
+        return event;
+    }
+
+    private List<String> awaitSent(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (pipeline.sent().size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return pipeline.sent();
+    }
+
+    private void awaitNoPendingSpill() throws InterruptedException {
+        EventSpillFile spillFile = new EventSpillFile(spillPath());
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (spillFile.hasPending() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(spillFile.hasPending());
+    }
+}
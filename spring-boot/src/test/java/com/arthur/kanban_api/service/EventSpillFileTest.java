@@ -0,0 +1,72 @@
+package com.arthur.kanban_api.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSpillFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaySendsSpilledEventsInBatchesThenRemovesTheFile() throws Exception {
+        EventSpillFile spillFile = new EventSpillFile(directory.resolve("events.spill"));
+        append(spillFile, "e1", "e2", "e3", "e4", "e5");
+
+        List<List<String>> batches = new ArrayList<>();
+        spillFile.replay(2, batch -> batches.add(ids(batch)));
+
+        assertEquals(List.of(List.of("e1", "e2"), List.of("e3", "e4"), List.of("e5")), batches);
+        assertFalse(spillFile.hasPending());
+    }
+
+    @Test
+    void partiallySentReplayIsResumedFromTheStart() throws Exception {
+        EventSpillFile spillFile = new EventSpillFile(directory.resolve("events.spill"));
+        append(spillFile, "e1", "e2", "e3", "e4", "e5");
+
+        // Le deuxième lot échoue : le premier est déjà parti
+        List<String> delivered = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> spillFile.replay(2, batch -> {
+            if (delivered.size() == 2) {
+                throw new IllegalStateException("Redis indisponible");
+            }
+            delivered.addAll(ids(batch));
+        }));
+        assertEquals(List.of("e1", "e2"), delivered);
+        assertTrue(spillFile.hasPending());
+
+        // Débordement arrivé pendant la panne : nouveau fichier, rejoué après le fichier de rejeu
+        append(spillFile, "e6");
+        delivered.clear();
+        spillFile.replay(2, batch -> delivered.addAll(ids(batch)));
+        // Livraison au moins une fois : e1 et e2 repartent
+        assertEquals(List.of("e1", "e2", "e3", "e4", "e5"), delivered);
+        assertTrue(spillFile.hasPending());
+
+        delivered.clear();
+        spillFile.replay(2, batch -> delivered.addAll(ids(batch)));
+        assertEquals(List.of("e6"), delivered);
+        assertFalse(spillFile.hasPending());
+    }
+
+    private static void append(EventSpillFile spillFile, String... ids) {
+        for (String id : ids) {
+            spillFile.append("kanban.cardcreated", id.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<String> ids(List<EventSpillFile.SpilledEvent> batch) {
+        return batch.stream().map(event -> new String(event.payload(), StandardCharsets.UTF_8)).toList();
+    }
+}
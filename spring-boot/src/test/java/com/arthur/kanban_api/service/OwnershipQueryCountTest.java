@@ -0,0 +1,168 @@
+package com.arthur.kanban_api.service;
+
+import com.arthur.kanban_api.entity.Card;
+import com.arthur.kanban_api.entity.KanbanList;
+import com.arthur.kanban_api.entity.User;
+import com.arthur.kanban_api.repository.CardRepository;
+import com.arthur.kanban_api.repository.KanbanListRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Nombre de requêtes des écritures autorisées, mesuré par les statistiques Hibernate :
+ * le contrôle de propriété est fait par la requête qui lit la carte ou la liste.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CardService.class, CardRankRebalancer.class, KanbanListService.class})
+class OwnershipQueryCountTest {
+
+    private static final int CARDS_PER_LIST = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CardService cardService;
+
+    @Autowired
+    private KanbanListService listService;
+
+    @Autowired
+    private KanbanListRepository listRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private KanbanList todo;
+    private KanbanList done;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        owner = newUser("owner@example.com");
+        todo = newList("À faire", 0);
+        done = newList("Terminé", 1);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void ownerUpdatesCardInTwoStatements() {
+        Long cardId = todo.getCards().get(0).getId();
+
+        Card card = cardService.findEditable(cardId, owner.getId(), false).orElseThrow();
+        card.setTitle("Renommée");
+        cardService.update(card, card.getList().getId(), card.getPosition());
+        entityManager.flush();
+
+        // select ... where id = ? and owner_id = ?, puis l'update
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void ownerMovesCardToAnotherListInThreeStatements() {
+        Long cardId = todo.getCards().get(0).getId();
+
+        Card card = cardService.findEditable(cardId, owner.getId(), false).orElseThrow();
+        Long previousListId = card.getList().getId();
+        assertTrue(listService.isEditable(done.getId(), owner.getId(), false));
+        card.setList(listService.getReference(done.getId()));
+        cardService.update(card, previousListId, card.getPosition());
+        entityManager.flush();
+
+        // La liste cible n'est pas chargée : existence filtrée sur le propriétaire, puis référence
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void otherUserIsRefusedWithoutLoadingTheCard() {
+        Long intruder = newUser("intruder@example.com").getId();
+        Long cardId = todo.getCards().get(0).getId();
+        entityManager.flush();
+        statistics.clear();
+
+        assertFalse(cardService.findEditable(cardId, intruder, false).isPresent());
+        // Existence vérifiée seulement pour distinguer 403 et 404
+        assertTrue(cardService.exists(cardId));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void listDeletionDoesNotLoadItsCards() {
+        // Avant : findById puis deleteById, dont la cascade JPA charge et supprime chaque carte
+        KanbanList legacy = listRepository.findById(todo.getId()).orElseThrow();
+        listRepository.deleteById(legacy.getId());
+        entityManager.flush();
+        long legacyLoads = statistics.getEntityLoadCount();
+        assertEquals(1 + CARDS_PER_LIST, legacyLoads);
+
+        entityManager.clear();
+        statistics.clear();
+
+        // Après : liste filtrée sur le propriétaire, puis deux suppressions en masse
+        KanbanList list = listService.findEditable(done.getId(), owner.getId(), false).orElseThrow();
+        listService.delete(list);
+        entityManager.flush();
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+
+        assertEquals(0, cardRepository.count());
+        assertEquals(0, listRepository.count());
+    }
+
+    private User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("Motdepasse123");
+        user.setRole("ROLE_USER");
+        entityManager.persist(user);
+        return user;
+    }
+
+    private KanbanList newList(String title, int position) {
+        KanbanList list = new KanbanList();
+        list.setTitle(title);
+        list.setPosition(position);
+        list.setOwner(owner);
+        list.setCards(new ArrayList<>());
+        entityManager.persist(list);
+
+        for (int i = 0; i < CARDS_PER_LIST; i++) {
+            Card card = new Card();
+            card.setTitle("Carte " + i);
+            card.setPosition(CardRanks.at(i));
+            card.setList(list);
+            card.setOwner(owner);
+            entityManager.persist(card);
+            list.getCards().add(card);
+        }
+        return list;
+    }
+}